@@ -0,0 +1,130 @@
+package io.github.zghurskyi.kafka.plan;
+
+import io.github.zghurskyi.kafka.ProvisionProperties;
+import org.apache.kafka.clients.admin.Config;
+import org.apache.kafka.clients.admin.ConfigEntry;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartitionInfo;
+import org.apache.kafka.common.config.ConfigResource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PlanDiffBenchmark {
+
+    private static final Node NODE = new Node(0, "localhost", 9092);
+    private static final int PARTITIONS = 12;
+
+    @Param({"1000", "10000", "100000"})
+    private int topicCount;
+
+    private ProvisionProperties properties;
+    private ProvisionPlan plan;
+    private Set<String> topicsOnBroker;
+    private Map<String, TopicDescription> descriptions;
+    private Map<ConfigResource, Config> currentConfigs;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        properties = new ProvisionProperties();
+        for (int index = 0; index < topicCount; index++) {
+            properties.getTopics().add(topic(index));
+        }
+        plan = ProvisionPlan.compile(properties);
+
+        topicsOnBroker = new HashSet<>();
+        descriptions = new HashMap<>();
+        currentConfigs = new HashMap<>();
+        for (int index = 0; index < topicCount; index++) {
+            if (index % 10 == 0) {
+                continue;
+            }
+            String name = topicName(index);
+            topicsOnBroker.add(name);
+            descriptions.put(name, description(name, index % 4 == 0 ? PARTITIONS / 2 : PARTITIONS));
+            currentConfigs.put(new ConfigResource(ConfigResource.Type.TOPIC, name), config(index));
+        }
+    }
+
+    @Benchmark
+    public ProvisionPlan compilePlan() {
+        return ProvisionPlan.compile(properties);
+    }
+
+    @Benchmark
+    public String fingerprint() {
+        return ProvisionPlan.compile(properties).getFingerprint();
+    }
+
+    @Benchmark
+    public List<TopicCreation> topicCreations() {
+        return PlanDiff.getTopicCreations(plan, topicsOnBroker);
+    }
+
+    @Benchmark
+    public List<PartitionIncrease> partitionIncreases() {
+        return PlanDiff.getPartitionIncreases(plan, descriptions);
+    }
+
+    @Benchmark
+    public List<ConfigChange> configChanges() {
+        return PlanDiff.getConfigChanges(plan, currentConfigs);
+    }
+
+    private static String topicName(int index) {
+        return "benchmark.topic." + index;
+    }
+
+    private static ProvisionProperties.TopicProperties topic(int index) {
+        ProvisionProperties.TopicProperties topic = new ProvisionProperties.TopicProperties();
+        topic.setName(topicName(index));
+        topic.setNumPartitions(PARTITIONS);
+        topic.setReplicationFactor((short) 3);
+        topic.getConfigs().put("cleanup.policy", "delete");
+        topic.getConfigs().put("retention.ms", "604800000");
+        topic.getConfigs().put("min.insync.replicas", "2");
+        topic.getConfigs().put("max.message.bytes", "1048588");
+        return topic;
+    }
+
+    private static TopicDescription description(String name, int numPartitions) {
+        List<TopicPartitionInfo> partitions = new ArrayList<>(numPartitions);
+        for (int partition = 0; partition < numPartitions; partition++) {
+            partitions.add(new TopicPartitionInfo(partition, NODE, Collections.singletonList(NODE),
+                Collections.singletonList(NODE)));
+        }
+        return new TopicDescription(name, false, partitions);
+    }
+
+    private static Config config(int index) {
+        List<ConfigEntry> entries = new ArrayList<>();
+        entries.add(new ConfigEntry("cleanup.policy", "delete", false, false, false));
+        entries.add(new ConfigEntry("retention.ms", index % 3 == 0 ? "86400000" : "604800000", false, false, false));
+        entries.add(new ConfigEntry("min.insync.replicas", "2", false, false, false));
+        entries.add(new ConfigEntry("max.message.bytes", "1000012", true, false, false));
+        entries.add(new ConfigEntry("segment.bytes", "1073741824", true, false, false));
+        entries.add(new ConfigEntry("segment.ms", "604800000", true, false, false));
+        entries.add(new ConfigEntry("compression.type", "producer", true, false, false));
+        entries.add(new ConfigEntry("unclean.leader.election.enable", "false", true, false, false));
+        return new Config(entries);
+    }
+}
@@ -0,0 +1,77 @@
+package io.github.zghurskyi.kafka.printer;
+
+import org.apache.kafka.clients.admin.Config;
+import org.apache.kafka.clients.admin.ConfigEntry;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.common.config.ConfigResource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonPrinterBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int topicCount;
+
+    private List<NewTopic> newTopics;
+    private Map<ConfigResource, Config> configs;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        newTopics = new ArrayList<>(topicCount);
+        configs = new LinkedHashMap<>();
+        for (int index = 0; index < topicCount; index++) {
+            String name = "benchmark.topic." + index;
+            Map<String, String> topicConfigs = new HashMap<>();
+            topicConfigs.put("cleanup.policy", "delete");
+            topicConfigs.put("retention.ms", "604800000");
+            topicConfigs.put("min.insync.replicas", "2");
+            newTopics.add(new NewTopic(name, 12, (short) 3).configs(topicConfigs));
+            configs.put(new ConfigResource(ConfigResource.Type.TOPIC, name), config());
+        }
+    }
+
+    @Benchmark
+    public String printNewTopics() {
+        return JsonPrinter.DEFAULT.print(newTopics);
+    }
+
+    @Benchmark
+    public String printConfigs() {
+        return JsonPrinter.DEFAULT.print(configs);
+    }
+
+    @Benchmark
+    public String summarizeConfigs() {
+        return JsonPrinter.DEFAULT.summarize(configs);
+    }
+
+    private static Config config() {
+        List<ConfigEntry> entries = new ArrayList<>();
+        entries.add(new ConfigEntry("cleanup.policy", "delete", false, false, false));
+        entries.add(new ConfigEntry("retention.ms", "604800000", false, false, false));
+        entries.add(new ConfigEntry("min.insync.replicas", "2", false, false, false));
+        entries.add(new ConfigEntry("max.message.bytes", "1000012", true, false, false));
+        entries.add(new ConfigEntry("segment.bytes", "1073741824", true, false, false));
+        entries.add(new ConfigEntry("segment.ms", "604800000", true, false, false));
+        entries.add(new ConfigEntry("compression.type", "producer", true, false, false));
+        entries.add(new ConfigEntry("unclean.leader.election.enable", "false", true, false, false));
+        return new Config(entries);
+    }
+}
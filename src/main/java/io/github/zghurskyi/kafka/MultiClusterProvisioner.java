@@ -0,0 +1,200 @@
+package io.github.zghurskyi.kafka;
+
+import io.github.zghurskyi.kafka.plan.ProvisionReport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+public class MultiClusterProvisioner {
+
+    private static final Logger log = LoggerFactory.getLogger(MultiClusterProvisioner.class);
+
+    public static final String DEFAULT_CLUSTER = "default";
+
+    private static final String PROVISIONING_THREAD_PREFIX = "kafka-provision-clusters-";
+    private static final String CLUSTER_THREAD_PREFIX = "kafka-provision-cluster-";
+    private static final String THREAD_BUILDER_CLASS = "java.lang.Thread$Builder";
+
+    private final Map<String, TopicProvisioner> provisioners;
+    private final List<AutoCloseable> resources;
+    private final int parallelism;
+    private final boolean async;
+
+    private ExecutorService executor;
+    private volatile ExecutorService clusterExecutor;
+    private volatile Map<String, ClusterResult> lastResults = Collections.emptyMap();
+
+    MultiClusterProvisioner(Map<String, TopicProvisioner> provisioners, List<AutoCloseable> resources,
+                            int parallelism, boolean async) {
+        this.provisioners = Collections.unmodifiableMap(new LinkedHashMap<>(provisioners));
+        this.resources = resources;
+        this.parallelism = parallelism;
+        this.async = async;
+    }
+
+    public boolean isEnabled() {
+        return provisioners.size() > 1;
+    }
+
+    public Map<String, TopicProvisioner> getProvisioners() {
+        return provisioners;
+    }
+
+    public Map<String, ClusterResult> getLastResults() {
+        return lastResults;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!isEnabled()) {
+            return;
+        }
+        if (!async) {
+            provisionClusters();
+            return;
+        }
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(PROVISIONING_THREAD_PREFIX);
+        threadFactory.setDaemon(true);
+        executor = Executors.newSingleThreadExecutor(threadFactory);
+        executor.execute(this::provisionClustersInBackground);
+        log.info("Provisioning of clusters {} started in background", provisioners.keySet());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        ExecutorService runningClusters = clusterExecutor;
+        if (runningClusters != null) {
+            runningClusters.shutdownNow();
+        }
+        for (AutoCloseable resource : resources) {
+            try {
+                resource.close();
+            } catch (Exception exception) {
+                log.warn("Failed to close cluster provisioning resource. Error: {}", exception.getMessage());
+            }
+        }
+    }
+
+    public Map<String, ClusterResult> provisionClusters() {
+        ExecutorService clusters = Executors.newFixedThreadPool(Math.min(parallelism, provisioners.size()),
+            newClusterThreadFactory());
+        clusterExecutor = clusters;
+        Map<String, ClusterResult> results = new LinkedHashMap<>();
+        try {
+            Map<String, CompletableFuture<ClusterResult>> futures = new LinkedHashMap<>();
+            provisioners.forEach((cluster, provisioner) -> futures.put(cluster,
+                CompletableFuture.supplyAsync(() -> provision(cluster, provisioner), clusters)));
+            futures.forEach((cluster, future) -> results.put(cluster, future.join()));
+        } finally {
+            clusters.shutdown();
+            clusterExecutor = null;
+        }
+        lastResults = Collections.unmodifiableMap(results);
+        log.info("Provisioning results of clusters: {}", results.values());
+
+        List<ClusterResult> failed = results.values().stream()
+            .filter(ClusterResult::isFailed)
+            .collect(Collectors.toList());
+        if (!failed.isEmpty()) {
+            throw new TopicProvisionException("Failed to provision clusters: "
+                + failed.stream().map(ClusterResult::getCluster).collect(Collectors.toList()),
+                failed.get(0).getFailure());
+        }
+        return lastResults;
+    }
+
+    private ClusterResult provision(String cluster, TopicProvisioner provisioner) {
+        long startNanos = System.nanoTime();
+        try {
+            provisioner.provisionTopics();
+            return new ClusterResult(cluster, provisioner.getLastReport(), null, elapsedMillis(startNanos));
+        } catch (RuntimeException exception) {
+            log.error("Failed to provision cluster '{}'. Error: {}", cluster, exception.getMessage());
+            return new ClusterResult(cluster, provisioner.getLastReport(), exception, elapsedMillis(startNanos));
+        }
+    }
+
+    private void provisionClustersInBackground() {
+        try {
+            provisionClusters();
+        } catch (TopicProvisionException exception) {
+            log.error("Background cluster provisioning failed: {}", exception.getMessage());
+        }
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    private static ThreadFactory newClusterThreadFactory() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderClass = Class.forName(THREAD_BUILDER_CLASS);
+            builder = builderClass.getMethod("name", String.class, long.class)
+                .invoke(builder, CLUSTER_THREAD_PREFIX, 1L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException exception) {
+            CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(CLUSTER_THREAD_PREFIX);
+            threadFactory.setDaemon(true);
+            return threadFactory;
+        }
+    }
+
+    public static final class ClusterResult {
+
+        private final String cluster;
+        private final ProvisionReport report;
+        private final Throwable failure;
+        private final long durationMillis;
+
+        ClusterResult(String cluster, ProvisionReport report, Throwable failure, long durationMillis) {
+            this.cluster = cluster;
+            this.report = report;
+            this.failure = failure;
+            this.durationMillis = durationMillis;
+        }
+
+        public String getCluster() {
+            return cluster;
+        }
+
+        public ProvisionReport getReport() {
+            return report;
+        }
+
+        public Throwable getFailure() {
+            return failure;
+        }
+
+        public long getDurationMillis() {
+            return durationMillis;
+        }
+
+        public boolean isFailed() {
+            return failure != null;
+        }
+
+        @Override
+        public String toString() {
+            return isFailed()
+                ? "'" + cluster + "' failed in " + durationMillis + " ms: " + failure.getMessage()
+                : "'" + cluster + "' provisioned in " + durationMillis + " ms";
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package io.github.zghurskyi.kafka;
+
+public class ProvisionDeadlineExceededException extends TopicProvisionException {
+    public ProvisionDeadlineExceededException(String message, Throwable throwable) {
+        super(message, throwable);
+    }
+}
@@ -0,0 +1,18 @@
+package io.github.zghurskyi.kafka;
+
+import java.util.Collections;
+import java.util.List;
+
+public class ProvisionPreflightException extends TopicProvisionException {
+
+    private final List<String> violations;
+
+    public ProvisionPreflightException(List<String> violations) {
+        super("Preflight found " + violations.size() + " violations of cluster constraints: " + violations, null);
+        this.violations = Collections.unmodifiableList(violations);
+    }
+
+    public List<String> getViolations() {
+        return violations;
+    }
+}
@@ -1,5 +1,7 @@
 package io.github.zghurskyi.kafka;
 
+import io.github.zghurskyi.kafka.client.ProvisionDeadline;
+import io.github.zghurskyi.kafka.printer.JsonPrinter;
 import io.github.zghurskyi.kafka.validation.TopicName;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
@@ -7,8 +9,10 @@ import org.springframework.validation.annotation.Validated;
 import javax.validation.Valid;
 import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -16,14 +20,47 @@ import java.util.Map;
 @Validated
 public class ProvisionProperties {
 
+    static final int DEFAULT_CLUSTER_PARALLELISM = 4;
+
     private String brokers;
     private boolean enabled = true;
     private boolean autoCreateTopics = true;
     private boolean autoAddPartitions = true;
     private boolean autoUpdateConfig = true;
+    private boolean dryRun = false;
     private List<@Valid TopicProperties> topics = new ArrayList<>();
+    private List<@Valid TopicTemplateProperties> templates = new ArrayList<>();
+    private Map<String, @Valid ProvisionClusterProperties> clusters = new LinkedHashMap<>();
+    @Min(1)
+    private int clusterParallelism = DEFAULT_CLUSTER_PARALLELISM;
     @Valid
     private ProvisionRetryProperties provisionRetry = new ProvisionRetryProperties();
+    @Valid
+    private ProvisionAsyncProperties async = new ProvisionAsyncProperties();
+    @Valid
+    private ProvisionLedgerProperties ledger = new ProvisionLedgerProperties();
+    @Valid
+    private ProvisionCoordinationProperties coordination = new ProvisionCoordinationProperties();
+    @Valid
+    private ProvisionBatchProperties batch = new ProvisionBatchProperties();
+    @Valid
+    private ProvisionLoggingProperties logging = new ProvisionLoggingProperties();
+    @Valid
+    private ProvisionReconcileProperties reconcile = new ProvisionReconcileProperties();
+    @Valid
+    private ProvisionAdminProperties admin = new ProvisionAdminProperties();
+    @Valid
+    private ProvisionDeadlineProperties deadline = new ProvisionDeadlineProperties();
+    @Valid
+    private ProvisionPlacementProperties placement = new ProvisionPlacementProperties();
+    @Valid
+    private ProvisionLeaderSkewProperties leaderSkew = new ProvisionLeaderSkewProperties();
+    @Valid
+    private ProvisionRateLimitProperties rateLimit = new ProvisionRateLimitProperties();
+    @Valid
+    private ProvisionMetadataProperties metadata = new ProvisionMetadataProperties();
+    @Valid
+    private ProvisionPreflightProperties preflight = new ProvisionPreflightProperties();
 
     public ProvisionProperties() {
     }
@@ -48,14 +85,83 @@ public class ProvisionProperties {
         return this.autoUpdateConfig;
     }
 
+    public boolean isDryRun() {
+        return this.dryRun;
+    }
+
     public List<@Valid TopicProperties> getTopics() {
         return this.topics;
     }
 
+    public List<@Valid TopicTemplateProperties> getTemplates() {
+        return this.templates;
+    }
+
+    public Map<String, @Valid ProvisionClusterProperties> getClusters() {
+        return this.clusters;
+    }
+
+    @Min(1)
+    public int getClusterParallelism() {
+        return this.clusterParallelism;
+    }
+
     public @Valid ProvisionRetryProperties getProvisionRetry() {
         return this.provisionRetry;
     }
 
+    public @Valid ProvisionAsyncProperties getAsync() {
+        return this.async;
+    }
+
+    public @Valid ProvisionLedgerProperties getLedger() {
+        return this.ledger;
+    }
+
+    public @Valid ProvisionCoordinationProperties getCoordination() {
+        return this.coordination;
+    }
+
+    public @Valid ProvisionBatchProperties getBatch() {
+        return this.batch;
+    }
+
+    public @Valid ProvisionLoggingProperties getLogging() {
+        return this.logging;
+    }
+
+    public @Valid ProvisionReconcileProperties getReconcile() {
+        return this.reconcile;
+    }
+
+    public @Valid ProvisionAdminProperties getAdmin() {
+        return this.admin;
+    }
+
+    public @Valid ProvisionDeadlineProperties getDeadline() {
+        return this.deadline;
+    }
+
+    public @Valid ProvisionPlacementProperties getPlacement() {
+        return this.placement;
+    }
+
+    public @Valid ProvisionLeaderSkewProperties getLeaderSkew() {
+        return this.leaderSkew;
+    }
+
+    public @Valid ProvisionRateLimitProperties getRateLimit() {
+        return this.rateLimit;
+    }
+
+    public @Valid ProvisionMetadataProperties getMetadata() {
+        return this.metadata;
+    }
+
+    public @Valid ProvisionPreflightProperties getPreflight() {
+        return this.preflight;
+    }
+
     public void setBrokers(String brokers) {
         this.brokers = brokers;
     }
@@ -76,14 +182,82 @@ public class ProvisionProperties {
         this.autoUpdateConfig = autoUpdateConfig;
     }
 
+    public void setDryRun(boolean dryRun) {
+        this.dryRun = dryRun;
+    }
+
     public void setTopics(List<@Valid TopicProperties> topics) {
         this.topics = topics;
     }
 
+    public void setTemplates(List<@Valid TopicTemplateProperties> templates) {
+        this.templates = templates;
+    }
+
+    public void setClusters(Map<String, @Valid ProvisionClusterProperties> clusters) {
+        this.clusters = clusters;
+    }
+
+    public void setClusterParallelism(@Min(1) int clusterParallelism) {
+        this.clusterParallelism = clusterParallelism;
+    }
+
     public void setProvisionRetry(@Valid ProvisionRetryProperties provisionRetry) {
         this.provisionRetry = provisionRetry;
     }
 
+    public void setAsync(@Valid ProvisionAsyncProperties async) {
+        this.async = async;
+    }
+
+    public void setLedger(@Valid ProvisionLedgerProperties ledger) {
+        this.ledger = ledger;
+    }
+
+    public void setCoordination(@Valid ProvisionCoordinationProperties coordination) {
+        this.coordination = coordination;
+    }
+
+    public void setBatch(@Valid ProvisionBatchProperties batch) {
+        this.batch = batch;
+    }
+
+    public void setLogging(@Valid ProvisionLoggingProperties logging) {
+        this.logging = logging;
+    }
+
+    public void setReconcile(@Valid ProvisionReconcileProperties reconcile) {
+        this.reconcile = reconcile;
+    }
+
+    public void setAdmin(@Valid ProvisionAdminProperties admin) {
+        this.admin = admin;
+    }
+
+    public void setDeadline(@Valid ProvisionDeadlineProperties deadline) {
+        this.deadline = deadline;
+    }
+
+    public void setPlacement(@Valid ProvisionPlacementProperties placement) {
+        this.placement = placement;
+    }
+
+    public void setLeaderSkew(@Valid ProvisionLeaderSkewProperties leaderSkew) {
+        this.leaderSkew = leaderSkew;
+    }
+
+    public void setRateLimit(@Valid ProvisionRateLimitProperties rateLimit) {
+        this.rateLimit = rateLimit;
+    }
+
+    public void setMetadata(@Valid ProvisionMetadataProperties metadata) {
+        this.metadata = metadata;
+    }
+
+    public void setPreflight(@Valid ProvisionPreflightProperties preflight) {
+        this.preflight = preflight;
+    }
+
     public static class TopicProperties {
         @TopicName
         private String name;
@@ -132,6 +306,114 @@ public class ProvisionProperties {
         }
     }
 
+    public static class TopicTemplateProperties {
+        @NotEmpty
+        private String name;
+        @Min(1)
+        private int numPartitions;
+        @Min(1)
+        private short replicationFactor;
+        private Map<String, String> configs = new HashMap<>();
+        private Map<String, @Valid TopicTemplateParameterProperties> parameters = new LinkedHashMap<>();
+
+        public TopicTemplateProperties() {
+        }
+
+        @NotEmpty
+        public String getName() {
+            return this.name;
+        }
+
+        @Min(1)
+        public int getNumPartitions() {
+            return this.numPartitions;
+        }
+
+        @Min(1)
+        public short getReplicationFactor() {
+            return this.replicationFactor;
+        }
+
+        public Map<String, String> getConfigs() {
+            return this.configs;
+        }
+
+        public Map<String, @Valid TopicTemplateParameterProperties> getParameters() {
+            return this.parameters;
+        }
+
+        public void setName(@NotEmpty String name) {
+            this.name = name;
+        }
+
+        public void setNumPartitions(@Min(1) int numPartitions) {
+            this.numPartitions = numPartitions;
+        }
+
+        public void setReplicationFactor(@Min(1) short replicationFactor) {
+            this.replicationFactor = replicationFactor;
+        }
+
+        public void setConfigs(Map<String, String> configs) {
+            this.configs = configs;
+        }
+
+        public void setParameters(Map<String, @Valid TopicTemplateParameterProperties> parameters) {
+            this.parameters = parameters;
+        }
+    }
+
+    public static class TopicTemplateParameterProperties {
+        private Integer from;
+        private Integer to;
+        private String format;
+        private List<String> values = new ArrayList<>();
+        private String supplier;
+
+        public TopicTemplateParameterProperties() {
+        }
+
+        public Integer getFrom() {
+            return this.from;
+        }
+
+        public Integer getTo() {
+            return this.to;
+        }
+
+        public String getFormat() {
+            return this.format;
+        }
+
+        public List<String> getValues() {
+            return this.values;
+        }
+
+        public String getSupplier() {
+            return this.supplier;
+        }
+
+        public void setFrom(Integer from) {
+            this.from = from;
+        }
+
+        public void setTo(Integer to) {
+            this.to = to;
+        }
+
+        public void setFormat(String format) {
+            this.format = format;
+        }
+
+        public void setValues(List<String> values) {
+            this.values = values;
+        }
+
+        public void setSupplier(String supplier) {
+            this.supplier = supplier;
+        }
+    }
+
     public static class ProvisionRetryProperties {
 
         static final int DEFAULT_MAX_ATTEMPTS = 3;
@@ -187,4 +469,602 @@ public class ProvisionProperties {
             this.maxIntervalMillis = maxIntervalMillis;
         }
     }
+
+    public static class ProvisionAsyncProperties {
+
+        static final long DEFAULT_SEND_TIMEOUT_MILLIS = 60000L;
+
+        private boolean enabled = false;
+        private boolean gateListenerContainers = true;
+        private boolean gateProducers = true;
+        @Min(0)
+        private long sendTimeoutMillis = DEFAULT_SEND_TIMEOUT_MILLIS;
+
+        public ProvisionAsyncProperties() {
+        }
+
+        public boolean isEnabled() {
+            return this.enabled;
+        }
+
+        public boolean isGateListenerContainers() {
+            return this.gateListenerContainers;
+        }
+
+        public boolean isGateProducers() {
+            return this.gateProducers;
+        }
+
+        @Min(0)
+        public long getSendTimeoutMillis() {
+            return this.sendTimeoutMillis;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public void setGateListenerContainers(boolean gateListenerContainers) {
+            this.gateListenerContainers = gateListenerContainers;
+        }
+
+        public void setGateProducers(boolean gateProducers) {
+            this.gateProducers = gateProducers;
+        }
+
+        public void setSendTimeoutMillis(@Min(0) long sendTimeoutMillis) {
+            this.sendTimeoutMillis = sendTimeoutMillis;
+        }
+    }
+
+    public static class ProvisionLedgerProperties {
+
+        static final String DEFAULT_TOPIC = "kafka-provision-ledger";
+        static final short DEFAULT_REPLICATION_FACTOR = 1;
+        static final long DEFAULT_TIMEOUT_MILLIS = 10000L;
+
+        private boolean enabled = false;
+        private boolean forceRefresh = false;
+        @TopicName
+        private String topic = DEFAULT_TOPIC;
+        private String key;
+        @Min(1)
+        private short replicationFactor = DEFAULT_REPLICATION_FACTOR;
+        @Min(1)
+        private long timeoutMillis = DEFAULT_TIMEOUT_MILLIS;
+
+        public ProvisionLedgerProperties() {
+        }
+
+        public boolean isEnabled() {
+            return this.enabled;
+        }
+
+        public boolean isForceRefresh() {
+            return this.forceRefresh;
+        }
+
+        @TopicName
+        public String getTopic() {
+            return this.topic;
+        }
+
+        public String getKey() {
+            return this.key;
+        }
+
+        @Min(1)
+        public short getReplicationFactor() {
+            return this.replicationFactor;
+        }
+
+        @Min(1)
+        public long getTimeoutMillis() {
+            return this.timeoutMillis;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public void setForceRefresh(boolean forceRefresh) {
+            this.forceRefresh = forceRefresh;
+        }
+
+        public void setTopic(@TopicName String topic) {
+            this.topic = topic;
+        }
+
+        public void setKey(String key) {
+            this.key = key;
+        }
+
+        public void setReplicationFactor(@Min(1) short replicationFactor) {
+            this.replicationFactor = replicationFactor;
+        }
+
+        public void setTimeoutMillis(@Min(1) long timeoutMillis) {
+            this.timeoutMillis = timeoutMillis;
+        }
+    }
+
+    public static class ProvisionCoordinationProperties {
+
+        static final String DEFAULT_LOCK_TOPIC = "kafka-provision-lock";
+        static final long DEFAULT_WAIT_TIMEOUT_MILLIS = 120000L;
+        static final long DEFAULT_LEASE_TIMEOUT_MILLIS = 300000L;
+        static final long DEFAULT_CHECK_INTERVAL_MILLIS = 1000L;
+
+        private boolean enabled = false;
+        @TopicName
+        private String lockTopic = DEFAULT_LOCK_TOPIC;
+        private String group;
+        @Min(1)
+        private long waitTimeoutMillis = DEFAULT_WAIT_TIMEOUT_MILLIS;
+        @Min(1)
+        private long leaseTimeoutMillis = DEFAULT_LEASE_TIMEOUT_MILLIS;
+        @Min(10)
+        private long checkIntervalMillis = DEFAULT_CHECK_INTERVAL_MILLIS;
+
+        public ProvisionCoordinationProperties() {
+        }
+
+        public boolean isEnabled() {
+            return this.enabled;
+        }
+
+        @TopicName
+        public String getLockTopic() {
+            return this.lockTopic;
+        }
+
+        public String getGroup() {
+            return this.group;
+        }
+
+        @Min(1)
+        public long getWaitTimeoutMillis() {
+            return this.waitTimeoutMillis;
+        }
+
+        @Min(1)
+        public long getLeaseTimeoutMillis() {
+            return this.leaseTimeoutMillis;
+        }
+
+        @Min(10)
+        public long getCheckIntervalMillis() {
+            return this.checkIntervalMillis;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public void setLockTopic(@TopicName String lockTopic) {
+            this.lockTopic = lockTopic;
+        }
+
+        public void setGroup(String group) {
+            this.group = group;
+        }
+
+        public void setWaitTimeoutMillis(@Min(1) long waitTimeoutMillis) {
+            this.waitTimeoutMillis = waitTimeoutMillis;
+        }
+
+        public void setLeaseTimeoutMillis(@Min(1) long leaseTimeoutMillis) {
+            this.leaseTimeoutMillis = leaseTimeoutMillis;
+        }
+
+        public void setCheckIntervalMillis(@Min(10) long checkIntervalMillis) {
+            this.checkIntervalMillis = checkIntervalMillis;
+        }
+    }
+
+    public static class ProvisionBatchProperties {
+
+        static final int DEFAULT_SIZE = 500;
+        static final int DEFAULT_MAX_IN_FLIGHT = 4;
+
+        @Min(1)
+        private int size = DEFAULT_SIZE;
+        @Min(1)
+        private int maxInFlight = DEFAULT_MAX_IN_FLIGHT;
+
+        public ProvisionBatchProperties() {
+        }
+
+        @Min(1)
+        public int getSize() {
+            return this.size;
+        }
+
+        @Min(1)
+        public int getMaxInFlight() {
+            return this.maxInFlight;
+        }
+
+        public void setSize(@Min(1) int size) {
+            this.size = size;
+        }
+
+        public void setMaxInFlight(@Min(1) int maxInFlight) {
+            this.maxInFlight = maxInFlight;
+        }
+    }
+
+    public static class ProvisionLoggingProperties {
+
+        @Min(1)
+        private int maxChars = JsonPrinter.DEFAULT_MAX_CHARS;
+        @Min(1)
+        private int maxElements = JsonPrinter.DEFAULT_MAX_ELEMENTS;
+        private boolean summary = false;
+
+        public ProvisionLoggingProperties() {
+        }
+
+        @Min(1)
+        public int getMaxChars() {
+            return this.maxChars;
+        }
+
+        @Min(1)
+        public int getMaxElements() {
+            return this.maxElements;
+        }
+
+        public boolean isSummary() {
+            return this.summary;
+        }
+
+        public void setMaxChars(@Min(1) int maxChars) {
+            this.maxChars = maxChars;
+        }
+
+        public void setMaxElements(@Min(1) int maxElements) {
+            this.maxElements = maxElements;
+        }
+
+        public void setSummary(boolean summary) {
+            this.summary = summary;
+        }
+    }
+
+    public static class ProvisionReconcileProperties {
+
+        static final long DEFAULT_MIN_INTERVAL_MILLIS = 30000L;
+        static final long DEFAULT_MAX_INTERVAL_MILLIS = 600000L;
+        static final int DEFAULT_BACKOFF_MULTIPLIER = 2;
+
+        private boolean enabled = false;
+        @Min(100)
+        private long minIntervalMillis = DEFAULT_MIN_INTERVAL_MILLIS;
+        @Min(100)
+        private long maxIntervalMillis = DEFAULT_MAX_INTERVAL_MILLIS;
+        @Min(1) @Max(10)
+        private double multiplier = DEFAULT_BACKOFF_MULTIPLIER;
+
+        public ProvisionReconcileProperties() {
+        }
+
+        public boolean isEnabled() {
+            return this.enabled;
+        }
+
+        @Min(100)
+        public long getMinIntervalMillis() {
+            return this.minIntervalMillis;
+        }
+
+        @Min(100)
+        public long getMaxIntervalMillis() {
+            return this.maxIntervalMillis;
+        }
+
+        @Min(1) @Max(10)
+        public double getMultiplier() {
+            return this.multiplier;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public void setMinIntervalMillis(@Min(100) long minIntervalMillis) {
+            this.minIntervalMillis = minIntervalMillis;
+        }
+
+        public void setMaxIntervalMillis(@Min(100) long maxIntervalMillis) {
+            this.maxIntervalMillis = maxIntervalMillis;
+        }
+
+        public void setMultiplier(@Min(1) @Max(10) double multiplier) {
+            this.multiplier = multiplier;
+        }
+    }
+
+    /**
+     * Topics of a named cluster, provisioned at startup and by on-demand reconciles only. Readiness gating,
+     * drift reconciliation and configuration refresh apply to the default cluster, not to named clusters.
+     */
+    public static class ProvisionClusterProperties {
+
+        @NotEmpty
+        private String brokers;
+        private List<@Valid TopicProperties> topics = new ArrayList<>();
+        private List<@Valid TopicTemplateProperties> templates = new ArrayList<>();
+            @Valid
+        private ProvisionAdminProperties admin = new ProvisionAdminProperties();
+
+        public ProvisionClusterProperties() {
+        }
+
+        @NotEmpty
+        public String getBrokers() {
+            return this.brokers;
+        }
+
+        public List<@Valid TopicProperties> getTopics() {
+            return this.topics;
+        }
+
+        public List<@Valid TopicTemplateProperties> getTemplates() {
+            return this.templates;
+        }
+
+        public @Valid ProvisionAdminProperties getAdmin() {
+            return this.admin;
+        }
+
+        public void setBrokers(@NotEmpty String brokers) {
+            this.brokers = brokers;
+        }
+
+        public void setTopics(List<@Valid TopicProperties> topics) {
+            this.topics = topics;
+        }
+
+        public void setTemplates(List<@Valid TopicTemplateProperties> templates) {
+            this.templates = templates;
+        }
+
+        public void setAdmin(@Valid ProvisionAdminProperties admin) {
+            this.admin = admin;
+        }
+    }
+
+    public static class ProvisionAdminProperties {
+
+        static final long DEFAULT_CLOSE_TIMEOUT_MILLIS = 10000L;
+
+        private boolean inheritSpringKafka = false;
+        @Min(0)
+        private long closeTimeoutMillis = DEFAULT_CLOSE_TIMEOUT_MILLIS;
+        private Map<String, String> properties = new HashMap<>();
+
+        public ProvisionAdminProperties() {
+        }
+
+        public boolean isInheritSpringKafka() {
+            return this.inheritSpringKafka;
+        }
+
+        @Min(0)
+        public long getCloseTimeoutMillis() {
+            return this.closeTimeoutMillis;
+        }
+
+        public Map<String, String> getProperties() {
+            return this.properties;
+        }
+
+        public void setInheritSpringKafka(boolean inheritSpringKafka) {
+            this.inheritSpringKafka = inheritSpringKafka;
+        }
+
+        public void setCloseTimeoutMillis(@Min(0) long closeTimeoutMillis) {
+            this.closeTimeoutMillis = closeTimeoutMillis;
+        }
+
+        public void setProperties(Map<String, String> properties) {
+            this.properties = properties;
+        }
+    }
+
+    public static class ProvisionDeadlineProperties {
+
+        public enum ExpiryAction {
+            FAIL, CONTINUE_DEGRADED
+        }
+
+        @Min(0)
+        private long budgetMillis = 0;
+        @Min(1)
+        private long operationTimeoutMillis = ProvisionDeadline.DEFAULT_OPERATION_TIMEOUT_MILLIS;
+        private ExpiryAction onExpiry = ExpiryAction.FAIL;
+
+        public ProvisionDeadlineProperties() {
+        }
+
+        @Min(0)
+        public long getBudgetMillis() {
+            return this.budgetMillis;
+        }
+
+        @Min(1)
+        public long getOperationTimeoutMillis() {
+            return this.operationTimeoutMillis;
+        }
+
+        public ExpiryAction getOnExpiry() {
+            return this.onExpiry;
+        }
+
+        public void setBudgetMillis(@Min(0) long budgetMillis) {
+            this.budgetMillis = budgetMillis;
+        }
+
+        public void setOperationTimeoutMillis(@Min(1) long operationTimeoutMillis) {
+            this.operationTimeoutMillis = operationTimeoutMillis;
+        }
+
+        public void setOnExpiry(ExpiryAction onExpiry) {
+            this.onExpiry = onExpiry;
+        }
+    }
+
+    public static class ProvisionPlacementProperties {
+
+        private boolean enabled = false;
+        private boolean rackAware = true;
+
+        public ProvisionPlacementProperties() {
+        }
+
+        public boolean isEnabled() {
+            return this.enabled;
+        }
+
+        public boolean isRackAware() {
+            return this.rackAware;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public void setRackAware(boolean rackAware) {
+            this.rackAware = rackAware;
+        }
+    }
+
+    public static class ProvisionLeaderSkewProperties {
+
+        static final double DEFAULT_MAX_SKEW = 1.25;
+
+        private boolean enabled = false;
+        @Min(1)
+        private double maxSkew = DEFAULT_MAX_SKEW;
+
+        public ProvisionLeaderSkewProperties() {
+        }
+
+        public boolean isEnabled() {
+            return this.enabled;
+        }
+
+        @Min(1)
+        public double getMaxSkew() {
+            return this.maxSkew;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public void setMaxSkew(@Min(1) double maxSkew) {
+            this.maxSkew = maxSkew;
+        }
+    }
+
+    public static class ProvisionRateLimitProperties {
+
+        static final int DEFAULT_MIN_RATE_PERCENT = 10;
+
+        @Min(0)
+        private double topicsPerSecond = 0;
+        @Min(0)
+        private double requestsPerSecond = 0;
+        @Min(1) @Max(100)
+        private int minRatePercent = DEFAULT_MIN_RATE_PERCENT;
+
+        public ProvisionRateLimitProperties() {
+        }
+
+        @Min(0)
+        public double getTopicsPerSecond() {
+            return this.topicsPerSecond;
+        }
+
+        @Min(0)
+        public double getRequestsPerSecond() {
+            return this.requestsPerSecond;
+        }
+
+        @Min(1) @Max(100)
+        public int getMinRatePercent() {
+            return this.minRatePercent;
+        }
+
+        public void setTopicsPerSecond(@Min(0) double topicsPerSecond) {
+            this.topicsPerSecond = topicsPerSecond;
+        }
+
+        public void setRequestsPerSecond(@Min(0) double requestsPerSecond) {
+            this.requestsPerSecond = requestsPerSecond;
+        }
+
+        public void setMinRatePercent(@Min(1) @Max(100) int minRatePercent) {
+            this.minRatePercent = minRatePercent;
+        }
+    }
+
+    public static class ProvisionMetadataProperties {
+
+        static final long DEFAULT_TTL_MILLIS = 60000L;
+        static final int DEFAULT_MAX_SIZE = 10000;
+
+        @Min(1)
+        private long ttlMillis = DEFAULT_TTL_MILLIS;
+        @Min(1)
+        private int maxSize = DEFAULT_MAX_SIZE;
+
+        public ProvisionMetadataProperties() {
+        }
+
+        @Min(1)
+        public long getTtlMillis() {
+            return this.ttlMillis;
+        }
+
+        @Min(1)
+        public int getMaxSize() {
+            return this.maxSize;
+        }
+
+        public void setTtlMillis(@Min(1) long ttlMillis) {
+            this.ttlMillis = ttlMillis;
+        }
+
+        public void setMaxSize(@Min(1) int maxSize) {
+            this.maxSize = maxSize;
+        }
+    }
+
+    public static class ProvisionPreflightProperties {
+
+        private boolean enabled = true;
+        private boolean checkConfigNames;
+
+        public ProvisionPreflightProperties() {
+        }
+
+        public boolean isEnabled() {
+            return this.enabled;
+        }
+
+        public boolean isCheckConfigNames() {
+            return this.checkConfigNames;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public void setCheckConfigNames(boolean checkConfigNames) {
+            this.checkConfigNames = checkConfigNames;
+        }
+    }
 }
\ No newline at end of file
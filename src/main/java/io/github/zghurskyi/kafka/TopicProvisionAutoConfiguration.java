@@ -1,18 +1,56 @@
 package io.github.zghurskyi.kafka;
 
+import io.github.zghurskyi.kafka.actuate.ProvisionEndpoint;
+import io.github.zghurskyi.kafka.client.AdminBatching;
 import io.github.zghurskyi.kafka.client.AdminClientFactory;
+import io.github.zghurskyi.kafka.client.AdminFailures;
+import io.github.zghurskyi.kafka.client.AdminRateLimiter;
+import io.github.zghurskyi.kafka.client.DeadlineSleeper;
+import io.github.zghurskyi.kafka.coordination.ProvisionCoordinator;
+import io.github.zghurskyi.kafka.ledger.ProvisionLedger;
+import io.github.zghurskyi.kafka.metadata.TopicMetadataCache;
+import io.github.zghurskyi.kafka.metrics.MicrometerProvisionMetrics;
+import io.github.zghurskyi.kafka.metrics.ProvisionMetrics;
+import io.github.zghurskyi.kafka.placement.LeaderSkewReporter;
+import io.github.zghurskyi.kafka.plan.ProvisionDryRun;
+import io.github.zghurskyi.kafka.plan.ProvisionPlan;
+import io.github.zghurskyi.kafka.plan.TopicParameterSupplier;
+import io.github.zghurskyi.kafka.plan.TopicTemplateExpander;
+import io.github.zghurskyi.kafka.printer.JsonPrinter;
+import io.github.zghurskyi.kafka.readiness.ListenerContainerGate;
+import io.github.zghurskyi.kafka.readiness.ProducerGatePostProcessor;
+import io.github.zghurskyi.kafka.readiness.ProvisionReadiness;
+import io.github.zghurskyi.kafka.reconcile.DriftReconciler;
+import io.github.zghurskyi.kafka.refresh.ProvisionRefreshListener;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.kafka.clients.admin.AdminClient;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnEnabledEndpoint;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.kafka.core.KafkaAdmin;
 import org.springframework.retry.backoff.ExponentialBackOffPolicy;
 import org.springframework.retry.policy.SimpleRetryPolicy;
 import org.springframework.retry.support.RetryTemplate;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 @Configuration
 @ConditionalOnClass(AdminClient.class)
 @ConditionalOnProperty(value = "kafka.provision.enabled", matchIfMissing = true)
@@ -21,18 +59,161 @@ import org.springframework.retry.support.RetryTemplate;
 public class TopicProvisionAutoConfiguration {
 
     private static final String KAFKA_PROVISION_BROKERS_PROPERTY = "kafka.provision.brokers";
+    private static final String APPLICATION_NAME_PROPERTY = "spring.application.name";
+    private static final String DEFAULT_LEDGER_KEY = "default";
+    private static final String COORDINATION_GROUP_PREFIX = "kafka-provision-";
+    private static final String KAFKA_PROVISION_ASYNC_PREFIX = "kafka.provision.async";
+    private static final String KAFKA_PROVISION_ASYNC_PROPERTY = KAFKA_PROVISION_ASYNC_PREFIX + ".enabled";
+    private static final String KAFKA_PROVISION_RECONCILE_PROPERTY = "kafka.provision.reconcile.enabled";
+
+    @Bean
+    @ConditionalOnProperty(KAFKA_PROVISION_BROKERS_PROPERTY)
+    public TopicProvisioner provisioner(ProvisionProperties properties, ProvisionPlan plan,
+                                        AdminClientFactory clientFactory, RetryTemplate retryTemplate,
+                                        ProvisionReadiness readiness, ProvisionLedger ledger,
+                                        ProvisionCoordinator coordinator, AdminBatching batching,
+                                        ProvisionMetrics metrics, LeaderSkewReporter skewReporter,
+                                        TopicMetadataCache metadataCache) {
+        return new TopicProvisioner(properties, plan, clientFactory, retryTemplate, readiness, ledger, coordinator,
+            batching, metrics, skewReporter, metadataCache);
+    }
+
+    @Bean
+    @ConditionalOnProperty(KAFKA_PROVISION_BROKERS_PROPERTY)
+    public MultiClusterProvisioner multiClusterProvisioner(ProvisionProperties properties,
+                                                           TopicProvisioner provisioner,
+                                                           TopicTemplateExpander templateExpander,
+                                                           RetryTemplate retryTemplate, ProvisionMetrics metrics,
+                                                           LeaderSkewReporter skewReporter, Environment environment,
+                                                           ObjectProvider<KafkaAdmin> kafkaAdmin,
+                                                           ObjectProvider<KafkaProperties> kafkaProperties) {
+        Map<String, TopicProvisioner> provisioners = new LinkedHashMap<>();
+        List<AutoCloseable> resources = new ArrayList<>();
+        provisioners.put(MultiClusterProvisioner.DEFAULT_CLUSTER, provisioner);
+        properties.getClusters().forEach((cluster, clusterProperties) -> {
+            if (MultiClusterProvisioner.DEFAULT_CLUSTER.equals(cluster)) {
+                throw new IllegalArgumentException("Cluster name '" + cluster + "' is reserved for "
+                    + KAFKA_PROVISION_BROKERS_PROPERTY);
+            }
+            ProvisionProperties.ProvisionAdminProperties adminProperties = clusterProperties.getAdmin();
+            AdminClientFactory clientFactory = new AdminClientFactory(clusterProperties.getBrokers(),
+                adminConfigs(adminProperties, kafkaAdmin, kafkaProperties), adminProperties.getCloseTimeoutMillis());
+            AdminRateLimiter rateLimiter = newRateLimiter(properties);
+            resources.add(clientFactory::close);
+            resources.add(rateLimiter);
+            ProvisionPlan plan = ProvisionPlan.compile(properties, clusterProperties, templateExpander);
+            ProvisionLedger ledger = newLedger(properties, clientFactory, environment);
+            resources.add(ledger);
+            provisioners.put(cluster, new TopicProvisioner(properties, plan, clientFactory, retryTemplate,
+                new ProvisionReadiness(plan.getTopicNames()), ledger,
+                newCoordinator(properties, clientFactory, ledger),
+                newBatching(properties, rateLimiter), metrics.forCluster(cluster), skewReporter,
+                newMetadataCache(properties, clientFactory)));
+        });
+        return new MultiClusterProvisioner(provisioners, resources, properties.getClusterParallelism(),
+            properties.getAsync().isEnabled());
+    }
+
+    @Bean
+    @ConditionalOnProperty({KAFKA_PROVISION_BROKERS_PROPERTY, KAFKA_PROVISION_RECONCILE_PROPERTY})
+    public DriftReconciler driftReconciler(ProvisionProperties properties, TopicProvisioner provisioner,
+                                           ProvisionReadiness readiness, AdminClientFactory clientFactory,
+                                           AdminBatching batching) {
+        return new DriftReconciler(properties.getReconcile(), provisioner, readiness, clientFactory, batching);
+    }
+
+    @Bean
+    @ConditionalOnProperty(KAFKA_PROVISION_BROKERS_PROPERTY)
+    @ConditionalOnMissingBean(ProvisionMetrics.class)
+    public ProvisionMetrics noopProvisionMetrics() {
+        return ProvisionMetrics.NOOP;
+    }
+
+    @Bean
+    @ConditionalOnProperty(KAFKA_PROVISION_BROKERS_PROPERTY)
+    public ProvisionLedger provisionLedger(ProvisionProperties properties, AdminClientFactory clientFactory,
+                                           Environment environment) {
+        return newLedger(properties, clientFactory, environment);
+    }
+
+    @Bean
+    @ConditionalOnProperty(KAFKA_PROVISION_BROKERS_PROPERTY)
+    public ProvisionCoordinator provisionCoordinator(ProvisionProperties properties, AdminClientFactory clientFactory,
+                                                     ProvisionLedger ledger) {
+        return newCoordinator(properties, clientFactory, ledger);
+    }
+
+    @Bean
+    @ConditionalOnProperty(KAFKA_PROVISION_BROKERS_PROPERTY)
+    public ProvisionPlan provisionPlan(ProvisionProperties properties, TopicTemplateExpander templateExpander) {
+        return ProvisionPlan.compile(properties, templateExpander);
+    }
+
+    @Bean
+    @ConditionalOnProperty(KAFKA_PROVISION_BROKERS_PROPERTY)
+    public TopicTemplateExpander topicTemplateExpander(BeanFactory beanFactory) {
+        return new TopicTemplateExpander(supplier -> beanFactory.getBean(supplier, TopicParameterSupplier.class));
+    }
+
+    @Bean
+    @ConditionalOnProperty(KAFKA_PROVISION_BROKERS_PROPERTY)
+    public ProvisionDryRun provisionDryRun(ProvisionPlan plan, AdminClientFactory clientFactory,
+                                           AdminBatching batching) {
+        return new ProvisionDryRun(plan, clientFactory, batching);
+    }
+
+    @Bean
+    @ConditionalOnProperty(KAFKA_PROVISION_BROKERS_PROPERTY)
+    public LeaderSkewReporter leaderSkewReporter(ProvisionProperties properties) {
+        return new LeaderSkewReporter(properties.getLeaderSkew());
+    }
+
+    @Bean
+    @ConditionalOnProperty(KAFKA_PROVISION_BROKERS_PROPERTY)
+    public AdminRateLimiter adminRateLimiter(ProvisionProperties properties) {
+        return newRateLimiter(properties);
+    }
 
     @Bean
     @ConditionalOnProperty(KAFKA_PROVISION_BROKERS_PROPERTY)
-    public TopicProvisioner provisioner(ProvisionProperties properties, AdminClientFactory clientFactory,
-                                        RetryTemplate retryTemplate) {
-        return new TopicProvisioner(properties, clientFactory, retryTemplate);
+    public AdminBatching adminBatching(ProvisionProperties properties, AdminRateLimiter rateLimiter) {
+        return newBatching(properties, rateLimiter);
     }
 
     @Bean
     @ConditionalOnProperty(KAFKA_PROVISION_BROKERS_PROPERTY)
-    public AdminClientFactory clientFactory(ProvisionProperties properties) {
-        return new AdminClientFactory(properties.getBrokers());
+    public TopicMetadataCache topicMetadataCache(ProvisionProperties properties, AdminClientFactory clientFactory) {
+        return newMetadataCache(properties, clientFactory);
+    }
+
+    @Bean
+    @ConditionalOnProperty(KAFKA_PROVISION_BROKERS_PROPERTY)
+    public ProvisionReadiness provisionReadiness(ProvisionPlan plan) {
+        return new ProvisionReadiness(plan.getTopicNames());
+    }
+
+    @Bean
+    @ConditionalOnProperty({KAFKA_PROVISION_BROKERS_PROPERTY, KAFKA_PROVISION_ASYNC_PROPERTY})
+    public ListenerContainerGate listenerContainerGate(ProvisionProperties properties, ProvisionReadiness readiness) {
+        return new ListenerContainerGate(properties.getAsync().isGateListenerContainers(), readiness);
+    }
+
+    @Bean
+    @ConditionalOnProperty({KAFKA_PROVISION_BROKERS_PROPERTY, KAFKA_PROVISION_ASYNC_PROPERTY})
+    public static ProducerGatePostProcessor producerGatePostProcessor(Environment environment) {
+        ProvisionProperties.ProvisionAsyncProperties asyncProperties = Binder.get(environment)
+            .bind(KAFKA_PROVISION_ASYNC_PREFIX, ProvisionProperties.ProvisionAsyncProperties.class)
+            .orElseGet(ProvisionProperties.ProvisionAsyncProperties::new);
+        return new ProducerGatePostProcessor(asyncProperties.isGateProducers(), asyncProperties.getSendTimeoutMillis());
+    }
+
+    @Bean
+    @ConditionalOnProperty(KAFKA_PROVISION_BROKERS_PROPERTY)
+    public AdminClientFactory clientFactory(ProvisionProperties properties, ObjectProvider<KafkaAdmin> kafkaAdmin,
+                                            ObjectProvider<KafkaProperties> kafkaProperties) {
+        ProvisionProperties.ProvisionAdminProperties adminProperties = properties.getAdmin();
+        return new AdminClientFactory(properties.getBrokers(),
+            adminConfigs(adminProperties, kafkaAdmin, kafkaProperties), adminProperties.getCloseTimeoutMillis());
     }
 
     @Bean
@@ -40,13 +221,14 @@ public class TopicProvisionAutoConfiguration {
     public RetryTemplate retryTemplate(ProvisionProperties properties) {
         ProvisionProperties.ProvisionRetryProperties provisionRetryProperties = properties.getProvisionRetry();
 
-        SimpleRetryPolicy simpleRetryPolicy = new SimpleRetryPolicy();
-        simpleRetryPolicy.setMaxAttempts(provisionRetryProperties.getMaxAttempts());
+        SimpleRetryPolicy simpleRetryPolicy = new SimpleRetryPolicy(provisionRetryProperties.getMaxAttempts(),
+            AdminFailures.getRetryableExceptions(), true, true);
 
         ExponentialBackOffPolicy backOffPolicy = new ExponentialBackOffPolicy();
         backOffPolicy.setInitialInterval(provisionRetryProperties.getInitialIntervalMillis());
         backOffPolicy.setMultiplier(provisionRetryProperties.getMultiplier());
         backOffPolicy.setMaxInterval(provisionRetryProperties.getMaxIntervalMillis());
+        backOffPolicy.setSleeper(new DeadlineSleeper());
 
         RetryTemplate retryTemplate = new RetryTemplate();
         retryTemplate.setRetryPolicy(simpleRetryPolicy);
@@ -54,4 +236,98 @@ public class TopicProvisionAutoConfiguration {
 
         return retryTemplate;
     }
+
+    private static ProvisionLedger newLedger(ProvisionProperties properties, AdminClientFactory clientFactory,
+                                             Environment environment) {
+        ProvisionProperties.ProvisionLedgerProperties ledgerProperties = properties.getLedger();
+        String key = ledgerProperties.getKey() != null
+            ? ledgerProperties.getKey()
+            : environment.getProperty(APPLICATION_NAME_PROPERTY, DEFAULT_LEDGER_KEY);
+        boolean enabled = ledgerProperties.isEnabled() || properties.getCoordination().isEnabled();
+        return new ProvisionLedger(enabled, clientFactory.getClientConfigs(), key, ledgerProperties);
+    }
+
+    private static ProvisionCoordinator newCoordinator(ProvisionProperties properties,
+                                                       AdminClientFactory clientFactory, ProvisionLedger ledger) {
+        ProvisionProperties.ProvisionCoordinationProperties coordinationProperties = properties.getCoordination();
+        String group = coordinationProperties.getGroup() != null
+            ? coordinationProperties.getGroup()
+            : COORDINATION_GROUP_PREFIX + ledger.getKey();
+        return new ProvisionCoordinator(clientFactory.getClientConfigs(), group,
+            properties.getLedger().getReplicationFactor(), coordinationProperties);
+    }
+
+    private static AdminRateLimiter newRateLimiter(ProvisionProperties properties) {
+        ProvisionProperties.ProvisionRateLimitProperties rateLimitProperties = properties.getRateLimit();
+        return new AdminRateLimiter(rateLimitProperties.getTopicsPerSecond(),
+            rateLimitProperties.getRequestsPerSecond(), rateLimitProperties.getMinRatePercent());
+    }
+
+    private static AdminBatching newBatching(ProvisionProperties properties, AdminRateLimiter rateLimiter) {
+        ProvisionProperties.ProvisionBatchProperties batchProperties = properties.getBatch();
+        ProvisionProperties.ProvisionLoggingProperties logging = properties.getLogging();
+        return new AdminBatching(batchProperties.getSize(), batchProperties.getMaxInFlight(), rateLimiter,
+            new JsonPrinter(logging.getMaxChars(), logging.getMaxElements(), logging.isSummary()));
+    }
+
+    private static TopicMetadataCache newMetadataCache(ProvisionProperties properties,
+                                                       AdminClientFactory clientFactory) {
+        ProvisionProperties.ProvisionMetadataProperties metadataProperties = properties.getMetadata();
+        return new TopicMetadataCache(clientFactory, metadataProperties.getTtlMillis(),
+            metadataProperties.getMaxSize());
+    }
+
+    private static Map<String, Object> adminConfigs(ProvisionProperties.ProvisionAdminProperties adminProperties,
+                                                    ObjectProvider<KafkaAdmin> kafkaAdmin,
+                                                    ObjectProvider<KafkaProperties> kafkaProperties) {
+        Map<String, Object> configs = new HashMap<>();
+        if (adminProperties.isInheritSpringKafka()) {
+            KafkaAdmin admin = kafkaAdmin.getIfAvailable();
+            if (admin != null) {
+                configs.putAll(admin.getConfig());
+            } else {
+                kafkaProperties.ifAvailable(springKafka -> configs.putAll(springKafka.buildAdminProperties()));
+            }
+        }
+        configs.putAll(adminProperties.getProperties());
+        return configs;
+    }
+
+    @Configuration
+    @ConditionalOnClass(MeterRegistry.class)
+    @ConditionalOnProperty(KAFKA_PROVISION_BROKERS_PROPERTY)
+    static class MicrometerMetricsConfiguration {
+
+        @Bean
+        public ProvisionMetrics provisionMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            return registry != null ? new MicrometerProvisionMetrics(registry) : ProvisionMetrics.NOOP;
+        }
+    }
+
+    @Configuration
+    @ConditionalOnClass({Endpoint.class, ConditionalOnEnabledEndpoint.class})
+    @ConditionalOnProperty(KAFKA_PROVISION_BROKERS_PROPERTY)
+    static class EndpointConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnEnabledEndpoint
+        public ProvisionEndpoint provisionEndpoint(MultiClusterProvisioner clusters, ProvisionReadiness readiness) {
+            return new ProvisionEndpoint(clusters, readiness);
+        }
+    }
+
+    @Configuration
+    @ConditionalOnClass(EnvironmentChangeEvent.class)
+    @ConditionalOnProperty(KAFKA_PROVISION_BROKERS_PROPERTY)
+    static class RefreshConfiguration {
+
+        @Bean
+        public ProvisionRefreshListener provisionRefreshListener(Environment environment,
+                                                                 TopicProvisioner provisioner,
+                                                                 TopicTemplateExpander templateExpander) {
+            return new ProvisionRefreshListener(environment, provisioner, templateExpander);
+        }
+    }
 }
@@ -1,10 +1,29 @@
 package io.github.zghurskyi.kafka;
 
+import io.github.zghurskyi.kafka.client.AdminBatching;
 import io.github.zghurskyi.kafka.client.AdminClientFactory;
 import io.github.zghurskyi.kafka.client.AdminClientOperations;
+import io.github.zghurskyi.kafka.client.AdminFailures;
+import io.github.zghurskyi.kafka.client.DeadlineSleeper;
+import io.github.zghurskyi.kafka.client.ProvisionDeadline;
+import io.github.zghurskyi.kafka.coordination.ProvisionCoordinator;
+import io.github.zghurskyi.kafka.ledger.ProvisionLedger;
+import io.github.zghurskyi.kafka.metadata.TopicMetadataCache;
+import io.github.zghurskyi.kafka.metrics.ProvisionMetrics;
+import io.github.zghurskyi.kafka.metrics.ProvisionRunRecorder;
+import io.github.zghurskyi.kafka.placement.LeaderSkewReporter;
+import io.github.zghurskyi.kafka.placement.ReplicaPlacement;
+import io.github.zghurskyi.kafka.preflight.ProvisionPreflight;
+import io.github.zghurskyi.kafka.plan.ChangeSet;
+import io.github.zghurskyi.kafka.plan.ConfigChange;
+import io.github.zghurskyi.kafka.plan.PartitionIncrease;
+import io.github.zghurskyi.kafka.plan.PlanDiff;
+import io.github.zghurskyi.kafka.plan.ProvisionPlan;
+import io.github.zghurskyi.kafka.plan.ProvisionReport;
+import io.github.zghurskyi.kafka.plan.TopicCreation;
+import io.github.zghurskyi.kafka.readiness.ProvisionReadiness;
 import org.apache.kafka.clients.admin.AdminClient;
 import org.apache.kafka.clients.admin.Config;
-import org.apache.kafka.clients.admin.ConfigEntry;
 import org.apache.kafka.clients.admin.NewPartitions;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.admin.TopicDescription;
@@ -12,142 +31,599 @@ import org.apache.kafka.common.config.ConfigResource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.retry.RetryOperations;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 public class TopicProvisioner {
 
     private static final Logger log = LoggerFactory.getLogger(TopicProvisioner.class);
 
+    private static final String PROVISIONING_THREAD_PREFIX = "kafka-provision-";
+    private static final int PIPELINE_DEPTH = 3;
+
     private final ProvisionProperties provisionProperties;
+    private volatile ProvisionPlan plan;
     private final AdminClientFactory adminClientFactory;
     private final RetryOperations retryOperations;
+    private final ProvisionReadiness readiness;
+    private final ProvisionLedger ledger;
+    private final ProvisionCoordinator coordinator;
+    private final AdminBatching batching;
+    private final ProvisionRunRecorder runRecorder;
+    private final ProvisionMetrics metrics;
+    private final LeaderSkewReporter skewReporter;
+    private final TopicMetadataCache metadataCache;
+    private final ProvisionPreflight preflight;
+
+    private ExecutorService executor;
+    private volatile ProvisionReport lastReport;
+    private volatile ChangeSet lastChangeSet;
+    private volatile boolean planApplied;
 
-    @java.beans.ConstructorProperties({"provisionProperties", "adminClientFactory", "retryOperations"})
-    TopicProvisioner(ProvisionProperties provisionProperties, AdminClientFactory adminClientFactory, RetryOperations retryOperations) {
+    @java.beans.ConstructorProperties({"provisionProperties", "plan", "adminClientFactory", "retryOperations",
+        "readiness", "ledger", "coordinator", "batching", "metrics", "skewReporter", "metadataCache"})
+    TopicProvisioner(ProvisionProperties provisionProperties, ProvisionPlan plan, AdminClientFactory adminClientFactory,
+                     RetryOperations retryOperations, ProvisionReadiness readiness, ProvisionLedger ledger,
+                     ProvisionCoordinator coordinator, AdminBatching batching, ProvisionMetrics metrics,
+                     LeaderSkewReporter skewReporter, TopicMetadataCache metadataCache) {
         this.provisionProperties = provisionProperties;
+        this.plan = plan;
         this.adminClientFactory = adminClientFactory;
         this.retryOperations = retryOperations;
+        this.readiness = readiness;
+        this.ledger = ledger;
+        this.coordinator = coordinator;
+        this.batching = batching;
+        this.runRecorder = new ProvisionRunRecorder(metrics);
+        this.metrics = runRecorder;
+        this.skewReporter = skewReporter;
+        this.metadataCache = metadataCache;
+        this.preflight = new ProvisionPreflight(provisionProperties.getPreflight(),
+            provisionProperties.getPlacement().isEnabled());
     }
 
     @PostConstruct
-    public void provisionTopics() {
-        try (AdminClient adminClient = adminClientFactory.getAdminClient()) {
-            retryOperations.<Void, Exception>execute(context -> {
-                Set<String> topicsOnBroker = AdminClientOperations.listTopics(adminClient);
-                log.debug("Found following topics on the broker: {}", topicsOnBroker);
-
-                if (provisionProperties.isAutoCreateTopics()) {
-                    Set<NewTopic> newTopics = getNewTopics(topicsOnBroker);
-                    AdminClientOperations.createTopics(adminClient, newTopics);
-                }
+    public void start() {
+        if (!provisionProperties.getClusters().isEmpty()) {
+            log.debug("Named clusters are configured, topics are provisioned together with clusters");
+            return;
+        }
+        if (!provisionProperties.getAsync().isEnabled()) {
+            provisionTopics();
+            return;
+        }
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(PROVISIONING_THREAD_PREFIX);
+        threadFactory.setDaemon(true);
+        executor = Executors.newSingleThreadExecutor(threadFactory);
+        executor.execute(this::provisionTopicsInBackground);
+        log.info("Topic provisioning started in background");
+    }
 
-                if (provisionProperties.isAutoAddPartitions()) {
-                    Map<String, NewPartitions> newPartitions = getNewPartitions(adminClient, topicsOnBroker);
-                    AdminClientOperations.createPartitions(adminClient, newPartitions);
-                }
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
 
-                if (provisionProperties.isAutoUpdateConfig()) {
-                    Map<ConfigResource, Config> updatedConfig = getUpdatedConfigs(adminClient, topicsOnBroker);
-                    AdminClientOperations.alterConfigs(adminClient, updatedConfig);
+    public synchronized void provisionTopics() {
+        planApplied = false;
+        readiness.markInProgress();
+        long startNanos = System.nanoTime();
+        ProvisionDeadline deadline = startDeadline();
+        AdminClient adminClient = adminClientFactory.getAdminClient();
+        try {
+            String fingerprint = plan.getFingerprint();
+            if (metrics.timePhase("ledger-check", () -> ledger.isApplied(adminClient, fingerprint))) {
+                log.info("Desired topic state '{}' is already applied, provisioning is skipped", fingerprint);
+                markProvisioned();
+                return;
+            }
+            try (ProvisionCoordinator.Lease lease = metrics.timePhase("coordination",
+                () -> coordinator.acquire(adminClient, () -> ledger.isApplied(adminClient, fingerprint), deadline))) {
+                if (!lease.isAlreadyApplied()) {
+                    provisionWithRetry(adminClient, plan, fingerprint, deadline);
                 }
-
-                return null;
-            });
+            }
+            markProvisioned();
         } catch (Exception exception) {
+            if (deadline.isExpired() && provisionProperties.getDeadline().getOnExpiry()
+                == ProvisionProperties.ProvisionDeadlineProperties.ExpiryAction.CONTINUE_DEGRADED) {
+                log.warn("Provisioning deadline of {} ms is exceeded, continuing with unprovisioned topics! Error: {}",
+                    deadline.getBudgetMillis(), exception.getMessage());
+                readiness.markFailed(exception);
+                return;
+            }
             String message = "Failed to provision topics! Error: " + exception.getMessage();
             log.error(message, exception);
+            readiness.markFailed(exception);
             throw new TopicProvisionException(message, exception);
+        } finally {
+            metrics.recordRun(System.nanoTime() - startNanos);
         }
     }
 
-    private Set<NewTopic> getNewTopics(Set<String> topics) {
-        return provisionProperties.getTopics().stream()
-            .filter(topicConfig -> !topics.contains(topicConfig.getName()))
-            .map(topicConfig -> newTopic(topicConfig).configs(topicConfig.getConfigs()))
-            .collect(Collectors.toSet());
+    public ProvisionReport getLastReport() {
+        return lastReport;
     }
 
-    private Map<String, NewPartitions> getNewPartitions(AdminClient adminClient, Set<String> topicsOnBroker) {
-        Map<String, TopicDescription> topicDescriptions =
-            AdminClientOperations.describeTopics(adminClient, getTopicsToScale(topicsOnBroker));
-        return getNewPartitionsByTopic(topicDescriptions);
+    public ChangeSet getLastChangeSet() {
+        return lastChangeSet;
     }
 
-    private Map<ConfigResource, Config> getUpdatedConfigs(AdminClient adminClient, Set<String> topicsOnBroker) {
-        Map<ConfigResource, Config> currentConfig = AdminClientOperations.describeConfigs(adminClient, topicsOnBroker);
-        return getUpdatedConfig(currentConfig);
+    public ProvisionRunRecorder.ProvisionRun getLastRun() {
+        return runRecorder.getLastRun();
     }
 
-    private NewTopic newTopic(ProvisionProperties.TopicProperties topicConfig) {
-        return new NewTopic(topicConfig.getName(), topicConfig.getNumPartitions(), topicConfig.getReplicationFactor());
+    public synchronized ProvisionReport reconcileTopics() {
+        return reconcileTopics(adminClientFactory.getAdminClient());
     }
 
-    private Set<String> getTopicsToScale(Set<String> existingTopics) {
-        return provisionProperties.getTopics().stream()
-            .map(ProvisionProperties.TopicProperties::getName)
-            .filter(existingTopics::contains)
-            .collect(Collectors.toSet());
+    public synchronized ProvisionReport reconcileTopics(AdminClient adminClient) {
+        ProvisionPlan currentPlan = plan;
+        return reconcile(adminClient, new ProvisionAttempt(currentPlan, startDeadline()));
     }
 
-    private Map<String, NewPartitions> getNewPartitionsByTopic(Map<String, TopicDescription> descriptions) {
-        Map<String, NewPartitions> topicsToScale = new HashMap<>();
-        descriptions.forEach((topicName, topicDescription) -> {
-            int actualPartitionNumber = topicDescription.partitions().size();
-            int configPartitionNumber = getNumPartitions(topicName);
-            if (actualPartitionNumber < configPartitionNumber) {
-                topicsToScale.put(topicName, NewPartitions.increaseTo(configPartitionNumber));
+    public synchronized ProvisionReport reconcileTopics(AdminClient adminClient, ProvisionPlan detectedPlan,
+                                                        ChangeSet drift) {
+        ProvisionPlan currentPlan = plan;
+        ProvisionAttempt attempt = new ProvisionAttempt(currentPlan, startDeadline());
+        if (currentPlan == detectedPlan) {
+            attempt.resolved(drift);
+        } else {
+            log.debug("Topic configuration is refreshed since drift detection, changes are resolved again");
+        }
+        return reconcile(adminClient, attempt);
+    }
+
+    private ProvisionReport reconcile(AdminClient adminClient, ProvisionAttempt attempt) {
+        planApplied = false;
+        long startNanos = System.nanoTime();
+        try {
+            metrics.timePhase("reconcile",
+                () -> provisionWithRetry(adminClient, attempt, attempt.getPlan().getFingerprint()));
+        } finally {
+            metrics.recordRun(System.nanoTime() - startNanos);
+        }
+        markProvisioned();
+        return lastReport;
+    }
+
+    public synchronized ProvisionReport refresh(ProvisionPlan updatedPlan) {
+        ProvisionPlan changedPlan;
+        if (planApplied) {
+            changedPlan = updatedPlan.changedSince(plan);
+            if (changedPlan.isEmpty()) {
+                log.info("Refreshed topic configuration has no changes of managed topics");
+                plan = updatedPlan;
+                return null;
             }
-            logPartitionsUpdate(topicName, actualPartitionNumber, configPartitionNumber);
+            log.info("Refreshed topic configuration changes topics: {}", changedPlan.getTopicNames());
+        } else {
+            changedPlan = updatedPlan;
+            log.info("Previous provisioning run didn't complete, refreshed topic configuration is applied in full");
+        }
+        planApplied = false;
+        AdminClient adminClient = adminClientFactory.getAdminClient();
+        long startNanos = System.nanoTime();
+        try {
+            metrics.timePhase("refresh",
+                () -> provisionWithRetry(adminClient, changedPlan, updatedPlan.getFingerprint(), startDeadline()));
+        } finally {
+            metrics.recordRun(System.nanoTime() - startNanos);
+        }
+        plan = updatedPlan;
+        markProvisioned();
+        return lastReport;
+    }
+
+    public ProvisionPlan getPlan() {
+        return plan;
+    }
+
+    public TopicMetadataCache getMetadataCache() {
+        return metadataCache;
+    }
+
+    private void markProvisioned() {
+        if (provisionProperties.isDryRun()) {
+            readiness.markDryRun();
+        } else {
+            planApplied = true;
+            readiness.markReady();
+        }
+    }
+
+    private ProvisionDeadline startDeadline() {
+        ProvisionProperties.ProvisionDeadlineProperties deadlineProperties = provisionProperties.getDeadline();
+        return ProvisionDeadline.start(deadlineProperties.getBudgetMillis(),
+            deadlineProperties.getOperationTimeoutMillis());
+    }
+
+    private void provisionWithRetry(AdminClient adminClient, ProvisionPlan plan, String fingerprint,
+                                    ProvisionDeadline deadline) {
+        provisionWithRetry(adminClient, new ProvisionAttempt(plan, deadline), fingerprint);
+    }
+
+    private void provisionWithRetry(AdminClient adminClient, ProvisionAttempt attempt, String fingerprint) {
+        ProvisionPlan plan = attempt.getPlan();
+        ProvisionDeadline deadline = attempt.getDeadline();
+        if (preflight.isEnabled()) {
+            metrics.timePhase("preflight", () -> checkPreflight(adminClient, attempt));
+        }
+        retryOperations.<Void, RuntimeException>execute(context -> {
+            DeadlineSleeper.bind(context, deadline);
+            if (context.getRetryCount() > 0) {
+                if (deadline.isExpired()) {
+                    context.setExhaustedOnly();
+                    throw deadline.exceeded(context.getLastThrowable());
+                }
+                metrics.recordRetry();
+            }
+            if (!attempt.isResolved()) {
+                metrics.timePhase("provision", () -> provision(adminClient, attempt));
+            } else if (attempt.hasFailures()) {
+                log.warn("Retrying provisioning of failed topics: {}", attempt.getFailures().keySet());
+                metrics.timePhase("retry", () -> reapply(adminClient, attempt));
+            } else if (!provisionProperties.isDryRun()) {
+                metrics.timePhase("provision", () -> applyResolved(adminClient, attempt));
+            }
+            if (attempt.hasFailures()) {
+                throw new TopicProvisionException("Failed to provision topics: " + attempt.getFailures().keySet(),
+                    attempt.getCause());
+            }
+            return null;
+        }, context -> {
+            if (!attempt.isResolved()) {
+                throw new TopicProvisionException("Failed to resolve provisioning changes! Error: "
+                    + context.getLastThrowable().getMessage(), context.getLastThrowable());
+            }
+            return null;
         });
-        return topicsToScale;
+
+        ChangeSet changeSet = attempt.getChangeSet();
+        lastChangeSet = changeSet;
+        if (provisionProperties.isDryRun()) {
+            log.info("Dry run, following changes are not applied: {}", batching.getPrinter().lazy(changeSet));
+            return;
+        }
+        metrics.recordChanges(changeSet.getTopicCreations().size() - attempt.getPendingCreations().size(),
+            changeSet.getPartitionIncreases().size() - attempt.getPendingIncreases().size(),
+            changeSet.getConfigChanges().size() - attempt.getPendingConfigChanges().size());
+        ProvisionReport report = ProvisionReport.of(plan, changeSet, attempt.getFailures());
+        lastReport = report;
+        log.info("Provisioning report: {}", batching.getPrinter().lazy(report));
+        if (report.hasFailures()) {
+            report.getTopics().keySet().stream()
+                .filter(topic -> !report.getFailedTopics().contains(topic))
+                .forEach(readiness::markTopicReady);
+            throw new TopicProvisionException("Failed to provision topics: " + report.getFailedTopics(),
+                attempt.getFailures().values().iterator().next());
+        }
+        batching.getRateLimiter().restore();
+        metrics.timePhase("ledger-record", () -> ledger.recordApplied(adminClient, fingerprint));
+        if (skewReporter.isEnabled()) {
+            metrics.timePhase("leader-skew", () -> reportLeaderSkew(adminClient, attempt));
+        }
     }
 
-    private Map<ConfigResource, Config> getUpdatedConfig(Map<ConfigResource, Config> currentConfig) {
-        return currentConfig.entrySet().stream()
-            .collect(Collectors.toMap(Map.Entry::getKey,
-                config -> new Config(getUpdatedConfigEntries(config.getKey(), config.getValue()))));
+    private Void checkPreflight(AdminClient adminClient, ProvisionAttempt attempt) {
+        ProvisionDeadline deadline = attempt.getDeadline();
+        CompletableFuture<Set<String>> topicsOnBroker = attempt.isResolved()
+            ? CompletableFuture.completedFuture(attempt.getExistingTopics())
+            : metrics.timeAdminCall("listTopics", AdminClientOperations.listTopicsAsync(adminClient, deadline))
+                .thenApply(attempt::listed);
+        List<String> violations;
+        try {
+            violations = AdminClientOperations.await(topicsOnBroker.thenCompose(topics ->
+                metrics.timeAdminCall("describeCluster",
+                    preflight.checkAsync(adminClient, attempt.getPlan(), topics, deadline))), deadline, 2);
+        } catch (RuntimeException exception) {
+            log.warn("Failed to describe cluster, preflight of managed topics is skipped. Error: {}",
+                exception.getMessage());
+            return null;
+        }
+        if (!violations.isEmpty()) {
+            violations.forEach(violation -> log.error("Preflight violation: {}", violation));
+            throw new ProvisionPreflightException(violations);
+        }
+        return null;
     }
 
-    private int getNumPartitions(String topicName) {
-        return provisionProperties.getTopics().stream()
-            .filter(topic -> topic.getName().equals(topicName))
-            .map(ProvisionProperties.TopicProperties::getNumPartitions)
-            .findAny()
-            .orElse(1);
+    private void reportLeaderSkew(AdminClient adminClient, ProvisionAttempt attempt) {
+        ChangeSet changeSet = attempt.getChangeSet();
+        Map<String, TopicDescription> unchanged = new HashMap<>(attempt.getDescriptions());
+        unchanged.keySet().removeAll(getChangedTopics(changeSet.getTopicCreations(),
+            changeSet.getPartitionIncreases(), Collections.emptyList()));
+        try {
+            skewReporter.report(adminClient, attempt.getPlan().getTopicNames(), unchanged, batching,
+                attempt.getDeadline());
+        } catch (RuntimeException exception) {
+            log.warn("Failed to check leader skew of managed topics. Error: {}", exception.getMessage());
+        }
     }
 
-    private void logPartitionsUpdate(String topicName, int actualPartitionNumber, int configPartitionNumber) {
-        if (actualPartitionNumber < configPartitionNumber) {
-            log.debug("About to add partitions '{}': {}", topicName, configPartitionNumber - actualPartitionNumber);
-        } else if (actualPartitionNumber > configPartitionNumber) {
-            log.warn("Configured partition number is less then actual. Topic '{}': config {}, actual {}.",
-                topicName, configPartitionNumber, actualPartitionNumber);
+    private void provision(AdminClient adminClient, ProvisionAttempt attempt) {
+        ProvisionPlan plan = attempt.getPlan();
+        ProvisionDeadline deadline = attempt.getDeadline();
+        Set<String> listedTopics = attempt.takeListedTopics();
+        CompletableFuture<Set<String>> topicsOnBroker = listedTopics != null
+            ? CompletableFuture.completedFuture(listedTopics)
+            : metrics.timeAdminCall("listTopics", AdminClientOperations.listTopicsAsync(adminClient, deadline));
+        topicsOnBroker.thenAccept(topics -> log.debug("Found following topics on the broker: {}", topics));
+
+        CompletableFuture<List<TopicCreation>> topicCreations =
+            topicsOnBroker.thenApply(topics -> PlanDiff.getTopicCreations(plan, topics));
+        CompletableFuture<Map<String, TopicDescription>> descriptions =
+            topicsOnBroker.thenCompose(topics -> metrics.timeAdminCall("describeTopics",
+                PlanDiff.describeExistingTopics(adminClient, plan, topics, batching, deadline)));
+        CompletableFuture<Map<ConfigResource, Config>> currentConfigs =
+            topicsOnBroker.thenCompose(topics -> metrics.timeAdminCall("describeConfigs",
+                PlanDiff.describeExistingConfigs(adminClient, plan, topics, batching, deadline)));
+        CompletableFuture<List<PartitionIncrease>> partitionIncreases =
+            descriptions.thenApply(topics -> PlanDiff.getPartitionIncreases(plan, topics));
+        CompletableFuture<List<ConfigChange>> configChanges =
+            currentConfigs.thenApply(configs -> PlanDiff.getConfigChanges(plan, configs));
+
+        int rounds = batching.getRounds(plan.getTopics().size());
+        if (provisionProperties.isDryRun()) {
+            AdminClientOperations.await(CompletableFuture.allOf(topicCreations, partitionIncreases, configChanges),
+                deadline, PIPELINE_DEPTH * rounds);
+            attempt.resolved(new ChangeSet(topicCreations.join(), partitionIncreases.join(), configChanges.join()));
+            metadataCache.populate(descriptions.join(), currentConfigs.join());
+            return;
         }
+        CompletableFuture<ReplicaPlacement> placement =
+            topicsOnBroker.thenCompose(topics -> describePlacement(adminClient, topics, deadline));
+        CompletableFuture<Map<String, Throwable>> creationFailures = placement.thenCompose(replicaPlacement ->
+            topicCreations.thenCompose(creations -> createTopics(adminClient, creations, deadline, replicaPlacement)));
+        CompletableFuture<Map<String, Throwable>> partitionFailures = placement.thenCompose(replicaPlacement ->
+            partitionIncreases.thenCompose(increases ->
+                createPartitions(adminClient, increases, deadline, replicaPlacement)));
+        CompletableFuture<Map<String, Throwable>> configFailures =
+            configChanges.thenCompose(changes -> alterConfigs(adminClient, changes, deadline));
+
+        AdminClientOperations.await(CompletableFuture.allOf(creationFailures, partitionFailures, configFailures),
+            deadline, PIPELINE_DEPTH * rounds);
+        attempt.resolved(new ChangeSet(topicCreations.join(), partitionIncreases.join(), configChanges.join()));
+        attempt.described(descriptions.join());
+        attempt.placed(placement.join());
+        metadataCache.populate(descriptions.join(), currentConfigs.join());
+        metadataCache.invalidate(getChangedTopics(attempt.getPendingCreations(), attempt.getPendingIncreases(),
+            attempt.getPendingConfigChanges()));
+        attempt.applied(creationFailures.join(), partitionFailures.join(), configFailures.join());
     }
 
-    private Set<ConfigEntry> getUpdatedConfigEntries(ConfigResource configResource, Config currentConfigMap) {
-        return provisionProperties.getTopics().stream()
-            .filter(topic -> topic.getName().equals(configResource.name()))
-            .map(ProvisionProperties.TopicProperties::getConfigs)
-            .flatMap(map -> map.entrySet().stream())
-            .map(configEntry -> new ConfigEntry(configEntry.getKey(), configEntry.getValue()))
-            .peek(configEntry -> logConfigUpdate(configResource, currentConfigMap, configEntry))
-            .collect(Collectors.toSet());
+    private void applyResolved(AdminClient adminClient, ProvisionAttempt attempt) {
+        ProvisionDeadline deadline = attempt.getDeadline();
+        if (provisionProperties.getPlacement().isEnabled()
+            && (!attempt.getPendingCreations().isEmpty() || !attempt.getPendingIncreases().isEmpty())) {
+            CompletableFuture<ReplicaPlacement> placement = metrics.timeAdminCall("listTopics",
+                AdminClientOperations.listTopicsAsync(adminClient, deadline))
+                .thenCompose(topics -> describePlacement(adminClient, topics, deadline));
+            attempt.placed(AdminClientOperations.await(placement, deadline, PIPELINE_DEPTH));
+        }
+        reapply(adminClient, attempt);
     }
 
-    private void logConfigUpdate(ConfigResource configResource, Config currentConfigMap, ConfigEntry updatedConfigEntry) {
-        ConfigEntry currentConfig = currentConfigMap.get(updatedConfigEntry.name());
-        if (currentConfig != null && !currentConfig.value().equals(updatedConfigEntry.value())) {
-            log.warn("Topic '{}': config '{}' changed from {} to {}", configResource.name(),
-                updatedConfigEntry.name(), currentConfig.value(), updatedConfigEntry.value());
-        } else {
-            log.debug("Topic '{}': new config added '{}' = {}", configResource.name(),
-                updatedConfigEntry.name(), updatedConfigEntry.value());
+    private void reapply(AdminClient adminClient, ProvisionAttempt attempt) {
+        ProvisionDeadline deadline = attempt.getDeadline();
+        CompletableFuture<Map<String, Throwable>> creationFailures =
+            createTopics(adminClient, attempt.getPendingCreations(), deadline, attempt.getPlacement());
+        CompletableFuture<Map<String, Throwable>> partitionFailures =
+            createPartitions(adminClient, attempt.getPendingIncreases(), deadline, attempt.getPlacement());
+        CompletableFuture<Map<String, Throwable>> configFailures =
+            alterConfigs(adminClient, attempt.getPendingConfigChanges(), deadline);
+
+        AdminClientOperations.await(CompletableFuture.allOf(creationFailures, partitionFailures, configFailures),
+            deadline, batching.getRounds(attempt.getPendingCount()));
+        metadataCache.invalidate(getChangedTopics(attempt.getPendingCreations(), attempt.getPendingIncreases(),
+            attempt.getPendingConfigChanges()));
+        attempt.applied(creationFailures.join(), partitionFailures.join(), configFailures.join());
+    }
+
+    private void provisionTopicsInBackground() {
+        try {
+            provisionTopics();
+        } catch (TopicProvisionException exception) {
+            log.error("Background topic provisioning failed, managed topics are not ready: {}",
+                readiness.getManagedTopics());
+        }
+    }
+
+    private CompletableFuture<ReplicaPlacement> describePlacement(AdminClient adminClient, Set<String> topicsOnBroker,
+                                                                  ProvisionDeadline deadline) {
+        ProvisionProperties.ProvisionPlacementProperties placementProperties = provisionProperties.getPlacement();
+        if (!placementProperties.isEnabled()) {
+            return CompletableFuture.completedFuture(ReplicaPlacement.BROKER_DEFAULT);
+        }
+        return metrics.timeAdminCall("describeCluster", ReplicaPlacement.describeAsync(adminClient, topicsOnBroker,
+            batching, deadline, placementProperties.isRackAware()))
+            .exceptionally(throwable -> {
+                log.warn("Failed to describe replica load, broker default placement is used. Error: {}",
+                    AdminClientOperations.unwrap(throwable).getMessage());
+                return ReplicaPlacement.BROKER_DEFAULT;
+            });
+    }
+
+    private CompletableFuture<Map<String, Throwable>> createTopics(AdminClient adminClient,
+                                                                   List<TopicCreation> topicCreations,
+                                                                   ProvisionDeadline deadline,
+                                                                   ReplicaPlacement placement) {
+        List<NewTopic> newTopics = topicCreations.stream()
+            .map(placement::newTopic)
+            .collect(Collectors.toList());
+        return metrics.timeAdminCall("createTopics",
+            AdminClientOperations.tryCreateTopicsAsync(adminClient, newTopics, batching, deadline))
+            .thenApply(failures -> {
+                failures.values().removeIf(AdminFailures::isAlreadyApplied);
+                return failures;
+            });
+    }
+
+    private CompletableFuture<Map<String, Throwable>> createPartitions(AdminClient adminClient,
+                                                                       List<PartitionIncrease> increases,
+                                                                       ProvisionDeadline deadline,
+                                                                       ReplicaPlacement placement) {
+        Map<String, NewPartitions> newPartitions = increases.stream()
+            .collect(Collectors.toMap(PartitionIncrease::getTopicName, placement::newPartitions));
+        return metrics.timeAdminCall("createPartitions",
+            AdminClientOperations.tryCreatePartitionsAsync(adminClient, newPartitions, batching, deadline));
+    }
+
+    private CompletableFuture<Map<String, Throwable>> alterConfigs(AdminClient adminClient,
+                                                                   List<ConfigChange> configChanges,
+                                                                   ProvisionDeadline deadline) {
+        Map<ConfigResource, Config> updatedConfigs = configChanges.stream()
+            .collect(Collectors.toMap(ConfigChange::toConfigResource, ConfigChange::toConfig));
+        return metrics.timeAdminCall("alterConfigs",
+            AdminClientOperations.tryAlterConfigsAsync(adminClient, updatedConfigs, batching, deadline));
+    }
+
+    private static Set<String> getChangedTopics(List<TopicCreation> creations, List<PartitionIncrease> increases,
+                                                List<ConfigChange> configChanges) {
+        Set<String> topics = new LinkedHashSet<>();
+        creations.forEach(creation -> topics.add(creation.getTopicName()));
+        increases.forEach(increase -> topics.add(increase.getTopicName()));
+        configChanges.forEach(change -> topics.add(change.getTopicName()));
+        return topics;
+    }
+
+    private static final class ProvisionAttempt {
+
+        private final ProvisionPlan plan;
+        private final ProvisionDeadline deadline;
+        private ReplicaPlacement placement = ReplicaPlacement.BROKER_DEFAULT;
+        private Set<String> listedTopics;
+        private Map<String, TopicDescription> descriptions = Collections.emptyMap();
+        private ChangeSet changeSet;
+        private List<TopicCreation> pendingCreations = Collections.emptyList();
+        private List<PartitionIncrease> pendingIncreases = Collections.emptyList();
+        private List<ConfigChange> pendingConfigChanges = Collections.emptyList();
+        private final Map<String, Throwable> failures = new TreeMap<>();
+
+        ProvisionAttempt(ProvisionPlan plan, ProvisionDeadline deadline) {
+            this.plan = plan;
+            this.deadline = deadline;
+        }
+
+        Set<String> listed(Set<String> topicsOnBroker) {
+            this.listedTopics = topicsOnBroker;
+            return topicsOnBroker;
+        }
+
+        Set<String> takeListedTopics() {
+            Set<String> topics = listedTopics;
+            listedTopics = null;
+            return topics;
+        }
+
+        Set<String> getExistingTopics() {
+            Set<String> topics = new LinkedHashSet<>(plan.getTopicNames());
+            changeSet.getTopicCreations().forEach(creation -> topics.remove(creation.getTopicName()));
+            return topics;
+        }
+
+        void resolved(ChangeSet changeSet) {
+            this.changeSet = changeSet;
+            this.pendingCreations = changeSet.getTopicCreations();
+            this.pendingIncreases = changeSet.getPartitionIncreases();
+            this.pendingConfigChanges = changeSet.getConfigChanges();
+        }
+
+        void applied(Map<String, Throwable> creationFailures, Map<String, Throwable> partitionFailures,
+                     Map<String, Throwable> configFailures) {
+            pendingCreations = retainFailed(pendingCreations, TopicCreation::getTopicName, creationFailures);
+            pendingIncreases = retainFailed(pendingIncreases, PartitionIncrease::getTopicName, partitionFailures);
+            pendingConfigChanges = retainFailed(pendingConfigChanges, ConfigChange::getTopicName, configFailures);
+            failures.clear();
+            creationFailures.forEach(failures::putIfAbsent);
+            partitionFailures.forEach(failures::putIfAbsent);
+            configFailures.forEach(failures::putIfAbsent);
+        }
+
+        ProvisionPlan getPlan() {
+            return plan;
+        }
+
+        ProvisionDeadline getDeadline() {
+            return deadline;
+        }
+
+        void described(Map<String, TopicDescription> descriptions) {
+            this.descriptions = descriptions;
+        }
+
+        Map<String, TopicDescription> getDescriptions() {
+            return descriptions;
+        }
+
+        void placed(ReplicaPlacement placement) {
+            this.placement = placement;
+        }
+
+        ReplicaPlacement getPlacement() {
+            return placement;
+        }
+
+        boolean isResolved() {
+            return changeSet != null;
+        }
+
+        boolean hasFailures() {
+            return !failures.isEmpty();
+        }
+
+        ChangeSet getChangeSet() {
+            return changeSet;
+        }
+
+        List<TopicCreation> getPendingCreations() {
+            return pendingCreations;
+        }
+
+        List<PartitionIncrease> getPendingIncreases() {
+            return pendingIncreases;
+        }
+
+        List<ConfigChange> getPendingConfigChanges() {
+            return pendingConfigChanges;
+        }
+
+        int getPendingCount() {
+            return Math.max(pendingCreations.size(), Math.max(pendingIncreases.size(), pendingConfigChanges.size()));
+        }
+
+        Map<String, Throwable> getFailures() {
+            return failures;
+        }
+
+        Throwable getCause() {
+            return failures.values().stream()
+                .filter(AdminFailures::isRetriable)
+                .findFirst()
+                .orElseGet(() -> failures.values().iterator().next());
+        }
+
+        private static <T> List<T> retainFailed(List<T> items, Function<T, String> topicName,
+                                                Map<String, Throwable> failures) {
+            return items.stream()
+                .filter(item -> failures.containsKey(topicName.apply(item)))
+                .collect(Collectors.toList());
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,85 @@
+package io.github.zghurskyi.kafka.actuate;
+
+import io.github.zghurskyi.kafka.MultiClusterProvisioner;
+import io.github.zghurskyi.kafka.TopicProvisionException;
+import io.github.zghurskyi.kafka.TopicProvisioner;
+import io.github.zghurskyi.kafka.plan.ChangeSet;
+import io.github.zghurskyi.kafka.plan.ConfigChange;
+import io.github.zghurskyi.kafka.plan.PartitionIncrease;
+import io.github.zghurskyi.kafka.plan.TopicCreation;
+import io.github.zghurskyi.kafka.readiness.ProvisionReadiness;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Endpoint(id = "kafkaprovision")
+public class ProvisionEndpoint {
+
+    private static final Logger log = LoggerFactory.getLogger(ProvisionEndpoint.class);
+
+    private final MultiClusterProvisioner clusters;
+    private final ProvisionReadiness readiness;
+
+    public ProvisionEndpoint(MultiClusterProvisioner clusters, ProvisionReadiness readiness) {
+        this.clusters = clusters;
+        this.readiness = readiness;
+    }
+
+    @ReadOperation
+    public Map<String, Object> provisioning() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", readiness.getStatus());
+        clusters.getProvisioners().forEach((cluster, provisioner) -> body.put(cluster, describe(provisioner)));
+        return body;
+    }
+
+    @WriteOperation
+    public Map<String, Object> reconcile() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        clusters.getProvisioners().forEach((cluster, provisioner) -> {
+            log.info("Reconciling topics of cluster '{}' on demand", cluster);
+            try {
+                provisioner.reconcileTopics();
+                body.put(cluster, describe(provisioner));
+            } catch (TopicProvisionException exception) {
+                Map<String, Object> failure = describe(provisioner);
+                failure.put("error", exception.getMessage());
+                body.put(cluster, failure);
+            }
+        });
+        return body;
+    }
+
+    private static Map<String, Object> describe(TopicProvisioner provisioner) {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("managedTopics", provisioner.getPlan().getTopicNames());
+        description.put("fingerprint", provisioner.getPlan().getFingerprint());
+        description.put("lastRun", provisioner.getLastRun());
+        description.put("changeSet", summarize(provisioner.getLastChangeSet()));
+        description.put("report", provisioner.getLastReport());
+        return description;
+    }
+
+    private static Map<String, Object> summarize(ChangeSet changeSet) {
+        if (changeSet == null) {
+            return null;
+        }
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("createdTopics", changeSet.getTopicCreations().stream()
+            .map(TopicCreation::getTopicName)
+            .collect(Collectors.toList()));
+        summary.put("partitionIncreases", changeSet.getPartitionIncreases().stream()
+            .map(PartitionIncrease::getTopicName)
+            .collect(Collectors.toList()));
+        summary.put("configChanges", changeSet.getConfigChanges().stream()
+            .collect(Collectors.toMap(ConfigChange::getTopicName, change -> change.getUpdatedValues().keySet(),
+                (first, second) -> first, LinkedHashMap::new)));
+        return summary;
+    }
+}
@@ -0,0 +1,112 @@
+package io.github.zghurskyi.kafka.client;
+
+import io.github.zghurskyi.kafka.printer.JsonPrinter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+public final class AdminBatching {
+
+    public static final AdminBatching UNBATCHED = new AdminBatching(Integer.MAX_VALUE, 1);
+
+    private final int batchSize;
+    private final int maxInFlightBatches;
+    private final AdminRateLimiter rateLimiter;
+    private final JsonPrinter printer;
+
+    public AdminBatching(int batchSize, int maxInFlightBatches) {
+        this(batchSize, maxInFlightBatches, AdminRateLimiter.UNLIMITED);
+    }
+
+    public AdminBatching(int batchSize, int maxInFlightBatches, AdminRateLimiter rateLimiter) {
+        this(batchSize, maxInFlightBatches, rateLimiter, JsonPrinter.DEFAULT);
+    }
+
+    public AdminBatching(int batchSize, int maxInFlightBatches, AdminRateLimiter rateLimiter, JsonPrinter printer) {
+        if (batchSize < 1 || maxInFlightBatches < 1) {
+            throw new IllegalArgumentException("Batch size and max in-flight batches must be positive");
+        }
+        this.batchSize = batchSize;
+        this.maxInFlightBatches = maxInFlightBatches;
+        this.rateLimiter = rateLimiter;
+        this.printer = printer;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public int getMaxInFlightBatches() {
+        return maxInFlightBatches;
+    }
+
+    public AdminRateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    public JsonPrinter getPrinter() {
+        return printer;
+    }
+
+    public int getBatchCount(int itemCount) {
+        return itemCount == 0 ? 0 : (int) ((itemCount - 1L) / batchSize + 1);
+    }
+
+    public int getRounds(int itemCount) {
+        int batchCount = getBatchCount(itemCount);
+        int rounds = Math.max(1, (batchCount - 1) / maxInFlightBatches + 1);
+        long limitedMillis = rateLimiter.getMinimumDurationMillis(itemCount, batchCount);
+        return rounds + (int) Math.min(Integer.MAX_VALUE / 2,
+            limitedMillis / ProvisionDeadline.DEFAULT_OPERATION_TIMEOUT_MILLIS);
+    }
+
+    public <T> List<List<T>> split(Collection<T> items) {
+        List<T> source = new ArrayList<>(items);
+        List<List<T>> batches = new ArrayList<>(getBatchCount(source.size()));
+        for (int from = 0; from < source.size(); from += batchSize) {
+            batches.add(source.subList(from, (int) Math.min(source.size(), (long) from + batchSize)));
+        }
+        return batches;
+    }
+
+    public <T, R> CompletableFuture<List<R>> execute(Collection<T> items,
+                                                     Function<List<T>, CompletableFuture<R>> operation) {
+        List<List<T>> batches = split(items);
+        if (batches.isEmpty()) {
+            return CompletableFuture.completedFuture(Collections.emptyList());
+        }
+        AtomicInteger cursor = new AtomicInteger();
+        AtomicReferenceArray<R> results = new AtomicReferenceArray<>(batches.size());
+        int lanes = Math.min(maxInFlightBatches, batches.size());
+        CompletableFuture<?>[] laneFutures = new CompletableFuture<?>[lanes];
+        for (int lane = 0; lane < lanes; lane++) {
+            laneFutures[lane] = runNext(batches, cursor, results, operation);
+        }
+        return CompletableFuture.allOf(laneFutures).thenApply(done -> {
+            List<R> merged = new ArrayList<>(batches.size());
+            for (int index = 0; index < batches.size(); index++) {
+                merged.add(results.get(index));
+            }
+            return merged;
+        });
+    }
+
+    private static <T, R> CompletableFuture<Void> runNext(List<List<T>> batches, AtomicInteger cursor,
+                                                          AtomicReferenceArray<R> results,
+                                                          Function<List<T>, CompletableFuture<R>> operation) {
+        int index = cursor.getAndIncrement();
+        if (index >= batches.size()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return operation.apply(batches.get(index)).thenCompose(result -> {
+            results.set(index, result);
+            return runNext(batches, cursor, results, operation);
+        });
+    }
+}
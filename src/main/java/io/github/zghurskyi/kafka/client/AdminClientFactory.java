@@ -2,33 +2,80 @@ package io.github.zghurskyi.kafka.client;
 
 import org.apache.kafka.clients.admin.AdminClient;
 import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-import java.util.Properties;
+import javax.annotation.PreDestroy;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 public class AdminClientFactory {
 
+    private static final Logger log = LoggerFactory.getLogger(AdminClientFactory.class);
+
     private static final String PROVISIONING_ADMIN_CLIENT_ID = "provisioning-admin-client";
+    private static final long DEFAULT_CLOSE_TIMEOUT_MILLIS = 10000L;
+    private static final Set<String> ADMIN_ONLY_CONFIGS = getAdminOnlyConfigs();
 
-    private final String brokers;
+    private final Map<String, Object> configs;
+    private final long closeTimeoutMillis;
 
     private AdminClient adminClient;
 
     public AdminClientFactory(String brokers) {
-        this.brokers = brokers;
+        this(brokers, Collections.emptyMap(), DEFAULT_CLOSE_TIMEOUT_MILLIS);
+    }
+
+    public AdminClientFactory(String brokers, Map<String, ?> properties, long closeTimeoutMillis) {
+        Map<String, Object> configs = new HashMap<>();
+        configs.put(AdminClientConfig.CLIENT_ID_CONFIG, PROVISIONING_ADMIN_CLIENT_ID);
+        configs.putAll(properties);
+        configs.put(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, brokers);
+        this.configs = Collections.unmodifiableMap(configs);
+        this.closeTimeoutMillis = closeTimeoutMillis;
+    }
+
+    public Map<String, Object> getConfigs() {
+        return this.configs;
+    }
+
+    public Map<String, Object> getClientConfigs() {
+        Map<String, Object> clientConfigs = new HashMap<>(this.configs);
+        clientConfigs.keySet().removeAll(ADMIN_ONLY_CONFIGS);
+        return clientConfigs;
     }
 
     public synchronized AdminClient getAdminClient() {
         if (this.adminClient == null) {
-            Properties configs = getConfigs(brokers);
-            this.adminClient = AdminClient.create(configs);
+            this.adminClient = createAdminClient();
         }
         return this.adminClient;
     }
 
-    private Properties getConfigs(String brokers) {
-        Properties config = new Properties();
-        config.put(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, brokers);
-        config.put(AdminClientConfig.CLIENT_ID_CONFIG, PROVISIONING_ADMIN_CLIENT_ID);
-        return config;
+    public AdminClient createAdminClient() {
+        return AdminClient.create(configs);
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (this.adminClient != null) {
+            this.adminClient.close(closeTimeoutMillis, TimeUnit.MILLISECONDS);
+            this.adminClient = null;
+            log.debug("Closed provisioning admin client");
+        }
+    }
+
+    private static Set<String> getAdminOnlyConfigs() {
+        Set<String> adminOnlyConfigs = new HashSet<>(AdminClientConfig.configNames());
+        adminOnlyConfigs.removeAll(ConsumerConfig.configNames());
+        adminOnlyConfigs.removeAll(ProducerConfig.configNames());
+        adminOnlyConfigs.add(AdminClientConfig.CLIENT_ID_CONFIG);
+        return Collections.unmodifiableSet(adminOnlyConfigs);
     }
 }
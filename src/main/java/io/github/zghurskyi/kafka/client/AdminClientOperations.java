@@ -1,98 +1,256 @@
 package io.github.zghurskyi.kafka.client;
 
 import io.github.zghurskyi.kafka.TopicProvisionException;
-import io.github.zghurskyi.kafka.printer.JsonPrinter;
 import org.apache.kafka.clients.admin.*;
 import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.Node;
 import org.apache.kafka.common.config.ConfigResource;
+import org.apache.kafka.common.errors.TopicExistsException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 public final class AdminClientOperations {
 
     private static final Logger log = LoggerFactory.getLogger(AdminClientOperations.class);
 
-    private static final int PROVISIONING_TIMEOUT_SEC = 60;
-
     private AdminClientOperations() {
         throw new UnsupportedOperationException("Instantiation is not supported!");
     }
 
     public static void createTopics(AdminClient client, Collection<NewTopic> topics) {
-        apply(() -> {
-            if (topics.isEmpty()) {
-                return null;
-            }
-            log.info("About to create topics: {}", JsonPrinter.print(topics));
-            CreateTopicsResult createTopicsResult = client.createTopics(topics);
-            createTopicsResult.all().get(PROVISIONING_TIMEOUT_SEC, TimeUnit.SECONDS);
-            return null;
-        });
+        await(createTopicsAsync(client, topics));
     }
 
     public static void createPartitions(AdminClient client, Map<String, NewPartitions> partitions) {
-        apply(() -> {
-            if (partitions.isEmpty()) {
-                return null;
-            }
-            CreatePartitionsResult createPartitionsResult = client.createPartitions(partitions);
-            createPartitionsResult.all().get(PROVISIONING_TIMEOUT_SEC, TimeUnit.SECONDS);
-            return null;
-        });
+        await(createPartitionsAsync(client, partitions));
     }
 
     public static void alterConfigs(AdminClient client, Map<ConfigResource, Config> configs) {
-        apply(() -> {
-            if (configs.isEmpty()) {
-                return null;
-            }
-            AlterConfigsResult alterConfigsResult = client.alterConfigs(configs);
-            alterConfigsResult.all().get(PROVISIONING_TIMEOUT_SEC, TimeUnit.SECONDS);
-            return null;
-        });
+        await(alterConfigsAsync(client, configs));
     }
 
-    @SuppressWarnings("unchecked")
     public static Set<String> listTopics(AdminClient client) {
-        return (Set<String>) apply(() -> {
-            ListTopicsResult listTopicsResult = client.listTopics();
-            return listTopicsResult.names().get(PROVISIONING_TIMEOUT_SEC, TimeUnit.SECONDS);
-        });
+        return await(listTopicsAsync(client));
     }
 
-    @SuppressWarnings("unchecked")
     public static Map<String, TopicDescription> describeTopics(AdminClient client, Collection<String> topics) {
-        return (Map<String, TopicDescription>) apply(() -> {
-            if (topics.isEmpty()) {
-                return Collections.emptyMap();
+        return await(describeTopicsAsync(client, topics));
+    }
+
+    public static Map<ConfigResource, Config> describeConfigs(AdminClient client, Set<String> topics) {
+        return await(describeConfigsAsync(client, topics));
+    }
+
+    public static CompletableFuture<Void> createTopicsAsync(AdminClient client, Collection<NewTopic> topics) {
+        return createTopicsAsync(client, topics, AdminBatching.UNBATCHED);
+    }
+
+    public static CompletableFuture<Void> createTopicsAsync(AdminClient client, Collection<NewTopic> topics,
+                                                            AdminBatching batching) {
+        return tryCreateTopicsAsync(client, topics, batching, ProvisionDeadline.NONE)
+            .thenApply(AdminClientOperations::raiseFailure);
+    }
+
+    public static CompletableFuture<Map<String, Throwable>> tryCreateTopicsAsync(AdminClient client,
+                                                                                Collection<NewTopic> topics,
+                                                                                AdminBatching batching,
+                                                                                ProvisionDeadline deadline) {
+        return batching.execute(topics, batch -> batching.getRateLimiter().throttle(batch.size(), () -> {
+            log.info("About to create topics: {}", batching.getPrinter().lazy(batch));
+            CreateTopicsOptions options = new CreateTopicsOptions().timeoutMs(deadline.getOperationTimeoutMs());
+            return collectFailures(client.createTopics(batch, options).values(), Function.identity());
+        })).thenApply(AdminClientOperations::merge);
+    }
+
+    public static void createTopicIfMissing(AdminClient client, NewTopic topic) {
+        await(createTopicsAsync(client, Collections.singleton(topic))
+            .handle((result, throwable) -> {
+                if (throwable != null && !(unwrap(throwable) instanceof TopicExistsException)) {
+                    throw new CompletionException(unwrap(throwable));
+                }
+                return result;
+            }));
+    }
+
+    public static CompletableFuture<Void> createPartitionsAsync(AdminClient client, Map<String, NewPartitions> partitions) {
+        return createPartitionsAsync(client, partitions, AdminBatching.UNBATCHED);
+    }
+
+    public static CompletableFuture<Void> createPartitionsAsync(AdminClient client, Map<String, NewPartitions> partitions,
+                                                                AdminBatching batching) {
+        return tryCreatePartitionsAsync(client, partitions, batching, ProvisionDeadline.NONE)
+            .thenApply(AdminClientOperations::raiseFailure);
+    }
+
+    public static CompletableFuture<Map<String, Throwable>> tryCreatePartitionsAsync(AdminClient client,
+                                                                                    Map<String, NewPartitions> partitions,
+                                                                                    AdminBatching batching,
+                                                                                    ProvisionDeadline deadline) {
+        return batching.execute(partitions.entrySet(), batch -> batching.getRateLimiter().throttle(batch.size(), () -> {
+            CreatePartitionsOptions options = new CreatePartitionsOptions().timeoutMs(deadline.getOperationTimeoutMs());
+            return collectFailures(client.createPartitions(toMap(batch), options).values(), Function.identity());
+        })).thenApply(AdminClientOperations::merge);
+    }
+
+    public static CompletableFuture<Void> alterConfigsAsync(AdminClient client, Map<ConfigResource, Config> configs) {
+        return alterConfigsAsync(client, configs, AdminBatching.UNBATCHED);
+    }
+
+    public static CompletableFuture<Void> alterConfigsAsync(AdminClient client, Map<ConfigResource, Config> configs,
+                                                            AdminBatching batching) {
+        return tryAlterConfigsAsync(client, configs, batching, ProvisionDeadline.NONE)
+            .thenApply(AdminClientOperations::raiseFailure);
+    }
+
+    public static CompletableFuture<Map<String, Throwable>> tryAlterConfigsAsync(AdminClient client,
+                                                                                Map<ConfigResource, Config> configs,
+                                                                                AdminBatching batching,
+                                                                                ProvisionDeadline deadline) {
+        return batching.execute(configs.entrySet(), batch -> batching.getRateLimiter().throttle(batch.size(), () -> {
+            AlterConfigsOptions options = new AlterConfigsOptions().timeoutMs(deadline.getOperationTimeoutMs());
+            return collectFailures(client.alterConfigs(toMap(batch), options).values(), ConfigResource::name);
+        })).thenApply(AdminClientOperations::merge);
+    }
+
+    public static CompletableFuture<Set<String>> listTopicsAsync(AdminClient client) {
+        return listTopicsAsync(client, ProvisionDeadline.NONE);
+    }
+
+    public static CompletableFuture<Set<String>> listTopicsAsync(AdminClient client, ProvisionDeadline deadline) {
+        ListTopicsOptions options = new ListTopicsOptions().timeoutMs(deadline.getOperationTimeoutMs());
+        return toCompletableFuture(client.listTopics(options).names());
+    }
+
+    public static CompletableFuture<Collection<Node>> describeClusterNodesAsync(AdminClient client,
+                                                                               ProvisionDeadline deadline) {
+        DescribeClusterOptions options = new DescribeClusterOptions().timeoutMs(deadline.getOperationTimeoutMs());
+        return toCompletableFuture(client.describeCluster(options).nodes());
+    }
+
+    public static CompletableFuture<Map<String, TopicDescription>> describeTopicsAsync(AdminClient client,
+                                                                                      Collection<String> topics) {
+        return describeTopicsAsync(client, topics, AdminBatching.UNBATCHED, ProvisionDeadline.NONE);
+    }
+
+    public static CompletableFuture<Map<String, TopicDescription>> describeTopicsAsync(AdminClient client,
+                                                                                      Collection<String> topics,
+                                                                                      AdminBatching batching,
+                                                                                      ProvisionDeadline deadline) {
+        return batching.execute(topics, batch -> {
+            DescribeTopicsOptions options = new DescribeTopicsOptions().timeoutMs(deadline.getOperationTimeoutMs());
+            return toCompletableFuture(client.describeTopics(batch, options).all());
+        }).thenApply(AdminClientOperations::merge);
+    }
+
+    public static CompletableFuture<Map<ConfigResource, Config>> describeConfigsAsync(AdminClient client,
+                                                                                     Set<String> topics) {
+        return describeConfigsAsync(client, topics, AdminBatching.UNBATCHED, ProvisionDeadline.NONE);
+    }
+
+    public static CompletableFuture<Map<ConfigResource, Config>> describeConfigsAsync(AdminClient client,
+                                                                                     Set<String> topics,
+                                                                                     AdminBatching batching,
+                                                                                     ProvisionDeadline deadline) {
+        return batching.execute(getConfigResources(topics), batch -> {
+            DescribeConfigsOptions options = new DescribeConfigsOptions().timeoutMs(deadline.getOperationTimeoutMs());
+            return toCompletableFuture(client.describeConfigs(batch, options).all());
+        }).thenApply(AdminClientOperations::merge)
+            .whenComplete((currentConfig, throwable) -> {
+                if (currentConfig != null && !currentConfig.isEmpty()) {
+                    log.debug("Current config on the broker: {}", batching.getPrinter().lazy(currentConfig));
+                }
+            });
+    }
+
+    public static <T> T await(CompletableFuture<T> future) {
+        return await(future, 1);
+    }
+
+    public static <T> T await(CompletableFuture<T> future, int sequentialCalls) {
+        return await(future, ProvisionDeadline.NONE, sequentialCalls);
+    }
+
+    public static <T> T await(CompletableFuture<T> future, ProvisionDeadline deadline, int sequentialCalls) {
+        long timeoutMillis = deadline.getAwaitTimeoutMillis(sequentialCalls);
+        return apply(() -> {
+            try {
+                return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException exception) {
+                if (deadline.isExpired()) {
+                    throw deadline.exceeded(exception);
+                }
+                throw exception;
             }
-            DescribeTopicsResult describeTopicsResult = client.describeTopics(topics);
-            KafkaFuture<Map<String, TopicDescription>> topicDescriptionsFuture = describeTopicsResult.all();
-            return topicDescriptionsFuture.get(PROVISIONING_TIMEOUT_SEC, TimeUnit.SECONDS);
         });
     }
 
-    @SuppressWarnings("unchecked")
-    public static Map<ConfigResource, Config> describeConfigs(AdminClient client, Set<String> topics) {
-        return (Map<ConfigResource, Config>) apply(() -> {
-            if (topics.isEmpty()) {
-                return Collections.emptyMap();
+    public static Throwable unwrap(Throwable throwable) {
+        return throwable instanceof CompletionException && throwable.getCause() != null
+            ? throwable.getCause()
+            : throwable;
+    }
+
+    private static <T> CompletableFuture<T> toCompletableFuture(KafkaFuture<T> kafkaFuture) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        kafkaFuture.whenComplete((value, throwable) -> {
+            if (throwable != null) {
+                future.completeExceptionally(throwable);
+            } else {
+                future.complete(value);
             }
-            Set<ConfigResource> configResources = getConfigResources(topics);
-            DescribeConfigsResult describeConfigsResult = client.describeConfigs(configResources);
-            Map<ConfigResource, Config> currentConfig = describeConfigsResult.all().get(PROVISIONING_TIMEOUT_SEC, TimeUnit.SECONDS);
-            log.debug("Current config on the broker: {}", JsonPrinter.print(currentConfig));
-            return currentConfig;
         });
+        return future;
+    }
+
+    private static <K> CompletableFuture<Map<String, Throwable>> collectFailures(Map<K, KafkaFuture<Void>> futures,
+                                                                                 Function<K, String> topicName) {
+        Map<String, Throwable> failures = new ConcurrentHashMap<>();
+        CompletableFuture<?>[] results = futures.entrySet().stream()
+            .map(entry -> toCompletableFuture(entry.getValue()).whenComplete((result, throwable) -> {
+                if (throwable != null) {
+                    failures.put(topicName.apply(entry.getKey()), unwrap(throwable));
+                }
+            }).exceptionally(throwable -> null))
+            .toArray(CompletableFuture<?>[]::new);
+        return CompletableFuture.allOf(results).thenApply(done -> new TreeMap<>(failures));
+    }
+
+    private static Void raiseFailure(Map<String, Throwable> failures) {
+        if (!failures.isEmpty()) {
+            throw new CompletionException(failures.values().iterator().next());
+        }
+        return null;
+    }
+
+    private static <K, V> Map<K, V> toMap(List<Map.Entry<K, V>> entries) {
+        Map<K, V> map = new LinkedHashMap<>();
+        entries.forEach(entry -> map.put(entry.getKey(), entry.getValue()));
+        return map;
+    }
+
+    private static <K, V> Map<K, V> merge(List<Map<K, V>> batchResults) {
+        if (batchResults.size() == 1) {
+            return batchResults.get(0);
+        }
+        Map<K, V> merged = new LinkedHashMap<>();
+        batchResults.forEach(merged::putAll);
+        return merged;
     }
 
     private static Set<ConfigResource> getConfigResources(Set<String> topicNames) {
@@ -101,11 +259,11 @@ public final class AdminClientOperations {
             .collect(Collectors.toSet());
     }
 
-    private interface AdminOperation {
-        Object run() throws InterruptedException, ExecutionException, TimeoutException;
+    private interface AdminOperation<T> {
+        T run() throws InterruptedException, ExecutionException, TimeoutException;
     }
 
-    private static Object apply(AdminOperation operation) {
+    private static <T> T apply(AdminOperation<T> operation) {
         try {
             return operation.run();
         } catch (InterruptedException exception) {
@@ -0,0 +1,56 @@
+package io.github.zghurskyi.kafka.client;
+
+import io.github.zghurskyi.kafka.ProvisionPreflightException;
+import org.apache.kafka.common.errors.AuthenticationException;
+import org.apache.kafka.common.errors.AuthorizationException;
+import org.apache.kafka.common.errors.InvalidConfigurationException;
+import org.apache.kafka.common.errors.InvalidReplicaAssignmentException;
+import org.apache.kafka.common.errors.InvalidReplicationFactorException;
+import org.apache.kafka.common.errors.InvalidTopicException;
+import org.apache.kafka.common.errors.PolicyViolationException;
+import org.apache.kafka.common.errors.TopicExistsException;
+import org.apache.kafka.common.errors.UnsupportedVersionException;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public final class AdminFailures {
+
+    private static final List<Class<? extends Throwable>> NON_RETRIABLE = Collections.unmodifiableList(Arrays.asList(
+        InvalidReplicationFactorException.class,
+        InvalidReplicaAssignmentException.class,
+        InvalidTopicException.class,
+        InvalidConfigurationException.class,
+        PolicyViolationException.class,
+        AuthorizationException.class,
+        AuthenticationException.class,
+        UnsupportedVersionException.class,
+        ProvisionPreflightException.class));
+
+    private AdminFailures() {
+        throw new UnsupportedOperationException("Instantiation is not supported!");
+    }
+
+    public static Map<Class<? extends Throwable>, Boolean> getRetryableExceptions() {
+        Map<Class<? extends Throwable>, Boolean> retryableExceptions = new LinkedHashMap<>();
+        NON_RETRIABLE.forEach(type -> retryableExceptions.put(type, false));
+        return retryableExceptions;
+    }
+
+    public static boolean isRetriable(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            Throwable current = cause;
+            if (NON_RETRIABLE.stream().anyMatch(type -> type.isInstance(current))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static boolean isAlreadyApplied(Throwable failure) {
+        return AdminClientOperations.unwrap(failure) instanceof TopicExistsException;
+    }
+}
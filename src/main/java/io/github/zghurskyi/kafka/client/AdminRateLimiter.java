@@ -0,0 +1,167 @@
+package io.github.zghurskyi.kafka.client;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+public class AdminRateLimiter implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(AdminRateLimiter.class);
+
+    public static final AdminRateLimiter UNLIMITED = new AdminRateLimiter(0, 0, 100);
+
+    private static final double BACKOFF_MULTIPLIER = 0.5;
+    private static final double RECOVERY_STEP = 0.1;
+    private static final String THROTTLING_EXCEPTION = "ThrottlingQuotaExceededException";
+    private static final String SCHEDULER_THREAD_NAME = "kafka-provision-rate-limiter";
+
+    private final TokenBucket topics;
+    private final TokenBucket requests;
+    private final double minRateFactor;
+    private double rateFactor = 1;
+    private ScheduledExecutorService scheduler;
+
+    public AdminRateLimiter(double topicsPerSecond, double requestsPerSecond, int minRatePercent) {
+        if (topicsPerSecond < 0 || requestsPerSecond < 0 || minRatePercent < 1 || minRatePercent > 100) {
+            throw new IllegalArgumentException("Rates must not be negative and min rate percent must be within [1, 100]");
+        }
+        this.topics = new TokenBucket(topicsPerSecond);
+        this.requests = new TokenBucket(requestsPerSecond);
+        this.minRateFactor = minRatePercent / 100.0;
+    }
+
+    public boolean isLimited() {
+        return topics.isLimited() || requests.isLimited();
+    }
+
+    public synchronized double getRateFactor() {
+        return rateFactor;
+    }
+
+    public long getMinimumDurationMillis(int topicCount, int requestCount) {
+        return Math.max(topics.getMinimumDurationMillis(topicCount), requests.getMinimumDurationMillis(requestCount));
+    }
+
+    public CompletableFuture<Map<String, Throwable>> throttle(int topicCount,
+                                                              Supplier<CompletableFuture<Map<String, Throwable>>> request) {
+        if (!isLimited()) {
+            return request.get();
+        }
+        long delayNanos = reserve(topicCount, System.nanoTime());
+        return delay(delayNanos)
+            .thenCompose(ready -> request.get())
+            .whenComplete((failures, throwable) -> adjust(throwable != null
+                ? isThrottled(AdminClientOperations.unwrap(throwable))
+                : failures.values().stream().anyMatch(AdminRateLimiter::isThrottled)));
+    }
+
+    synchronized long reserve(int topicCount, long nowNanos) {
+        return Math.max(topics.reserve(topicCount, nowNanos), requests.reserve(1, nowNanos));
+    }
+
+    synchronized void adjust(boolean throttled) {
+        double previous = rateFactor;
+        rateFactor = throttled
+            ? Math.max(minRateFactor, rateFactor * BACKOFF_MULTIPLIER)
+            : Math.min(1, rateFactor + RECOVERY_STEP);
+        topics.setRateFactor(rateFactor);
+        requests.setRateFactor(rateFactor);
+        if (throttled && rateFactor < previous) {
+            log.warn("Admin requests are throttled by the broker, rate is reduced to {}% of configured",
+                Math.round(rateFactor * 100));
+        } else if (!throttled && rateFactor == 1 && previous < 1) {
+            log.info("Admin request rate is restored to configured");
+        }
+    }
+
+    public synchronized void restore() {
+        if (rateFactor < 1) {
+            rateFactor = 1;
+            topics.setRateFactor(rateFactor);
+            requests.setRateFactor(rateFactor);
+            log.info("Admin request rate is restored to configured after successful run");
+        }
+    }
+
+    static boolean isThrottled(Throwable failure) {
+        return THROTTLING_EXCEPTION.equals(failure.getClass().getSimpleName());
+    }
+
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    private CompletableFuture<Void> delay(long delayNanos) {
+        CompletableFuture<Void> ready = new CompletableFuture<>();
+        if (delayNanos <= 0) {
+            ready.complete(null);
+            return ready;
+        }
+        getScheduler().schedule(() -> ready.complete(null), delayNanos, TimeUnit.NANOSECONDS);
+        return ready;
+    }
+
+    private synchronized ScheduledExecutorService getScheduler() {
+        if (scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, SCHEDULER_THREAD_NAME);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return scheduler;
+    }
+
+    private static final class TokenBucket {
+
+        private final double ratePerSecond;
+        private double rateFactor = 1;
+        private double storedPermits;
+        private long lastNanos;
+        private boolean started;
+
+        TokenBucket(double ratePerSecond) {
+            this.ratePerSecond = ratePerSecond;
+        }
+
+        boolean isLimited() {
+            return ratePerSecond > 0;
+        }
+
+        void setRateFactor(double rateFactor) {
+            this.rateFactor = rateFactor;
+        }
+
+        long getMinimumDurationMillis(int permits) {
+            return isLimited() ? (long) (permits * 1000 / ratePerSecond) : 0;
+        }
+
+        long reserve(int permits, long nowNanos) {
+            if (!isLimited()) {
+                return 0;
+            }
+            double rate = ratePerSecond * rateFactor;
+            double capacity = Math.max(rate, 1);
+            if (!started) {
+                storedPermits = capacity;
+                started = true;
+            } else {
+                storedPermits = Math.min(capacity, storedPermits + (nowNanos - lastNanos) * rate / 1e9);
+            }
+            lastNanos = nowNanos;
+            double deficit = permits - storedPermits;
+            storedPermits -= permits;
+            return deficit > 0 ? (long) (deficit / rate * 1e9) : 0;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package io.github.zghurskyi.kafka.client;
+
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.backoff.Sleeper;
+import org.springframework.retry.backoff.ThreadWaitSleeper;
+import org.springframework.retry.support.RetrySynchronizationManager;
+
+public class DeadlineSleeper implements Sleeper {
+
+    private static final String DEADLINE_ATTRIBUTE = "kafka.provision.deadline";
+
+    private final Sleeper delegate;
+
+    public DeadlineSleeper() {
+        this(new ThreadWaitSleeper());
+    }
+
+    DeadlineSleeper(Sleeper delegate) {
+        this.delegate = delegate;
+    }
+
+    public static void bind(RetryContext context, ProvisionDeadline deadline) {
+        context.setAttribute(DEADLINE_ATTRIBUTE, deadline);
+    }
+
+    @Override
+    public void sleep(long backOffPeriod) throws InterruptedException {
+        RetryContext context = RetrySynchronizationManager.getContext();
+        Object deadline = context != null ? context.getAttribute(DEADLINE_ATTRIBUTE) : null;
+        long period = deadline instanceof ProvisionDeadline
+            ? ((ProvisionDeadline) deadline).limit(backOffPeriod)
+            : backOffPeriod;
+        if (period > 0) {
+            delegate.sleep(period);
+        }
+    }
+}
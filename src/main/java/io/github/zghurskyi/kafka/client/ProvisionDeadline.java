@@ -0,0 +1,68 @@
+package io.github.zghurskyi.kafka.client;
+
+import io.github.zghurskyi.kafka.ProvisionDeadlineExceededException;
+
+import java.util.concurrent.TimeUnit;
+
+public final class ProvisionDeadline {
+
+    public static final long DEFAULT_OPERATION_TIMEOUT_MILLIS = 60000L;
+
+    public static final ProvisionDeadline NONE = new ProvisionDeadline(0, DEFAULT_OPERATION_TIMEOUT_MILLIS);
+
+    private final long budgetMillis;
+    private final long operationTimeoutMillis;
+    private final long startNanos = System.nanoTime();
+
+    private ProvisionDeadline(long budgetMillis, long operationTimeoutMillis) {
+        this.budgetMillis = budgetMillis;
+        this.operationTimeoutMillis = operationTimeoutMillis;
+    }
+
+    public static ProvisionDeadline start(long budgetMillis, long operationTimeoutMillis) {
+        if (budgetMillis < 0 || operationTimeoutMillis < 1) {
+            throw new IllegalArgumentException("Budget must not be negative and operation timeout must be positive");
+        }
+        return new ProvisionDeadline(budgetMillis, operationTimeoutMillis);
+    }
+
+    public boolean isBounded() {
+        return budgetMillis > 0;
+    }
+
+    public long getBudgetMillis() {
+        return budgetMillis;
+    }
+
+    public long getRemainingMillis() {
+        if (!isBounded()) {
+            return Long.MAX_VALUE;
+        }
+        return budgetMillis - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    public boolean isExpired() {
+        return getRemainingMillis() <= 0;
+    }
+
+    public int getOperationTimeoutMs() {
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(1, Math.min(operationTimeoutMillis, getRemainingMillis())));
+    }
+
+    public long getAwaitTimeoutMillis(int sequentialCalls) {
+        long remainingMillis = getRemainingMillis();
+        if (remainingMillis <= 0) {
+            throw exceeded(null);
+        }
+        return Math.min(remainingMillis, operationTimeoutMillis * sequentialCalls);
+    }
+
+    public long limit(long timeoutMillis) {
+        return Math.max(0, Math.min(timeoutMillis, getRemainingMillis()));
+    }
+
+    public ProvisionDeadlineExceededException exceeded(Throwable cause) {
+        return new ProvisionDeadlineExceededException("Provisioning deadline of " + budgetMillis + " ms is exceeded",
+            cause);
+    }
+}
@@ -0,0 +1,140 @@
+package io.github.zghurskyi.kafka.coordination;
+
+import io.github.zghurskyi.kafka.ProvisionProperties;
+import io.github.zghurskyi.kafka.client.AdminClientOperations;
+import io.github.zghurskyi.kafka.client.ProvisionDeadline;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.function.BooleanSupplier;
+
+public class ProvisionCoordinator {
+
+    private static final Logger log = LoggerFactory.getLogger(ProvisionCoordinator.class);
+
+    private static final String COORDINATOR_CLIENT_ID = "provisioning-coordinator";
+    private static final int MAX_LEDGER_CHECK_BACKOFF = 8;
+
+    private final Map<String, Object> clientConfigs;
+    private final String group;
+    private final short replicationFactor;
+    private final ProvisionProperties.ProvisionCoordinationProperties properties;
+
+    public ProvisionCoordinator(Map<String, ?> clientConfigs, String group, short replicationFactor,
+                                ProvisionProperties.ProvisionCoordinationProperties properties) {
+        this.clientConfigs = Collections.unmodifiableMap(new HashMap<>(clientConfigs));
+        this.group = group;
+        this.replicationFactor = replicationFactor;
+        this.properties = properties;
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public Lease acquire(AdminClient adminClient, BooleanSupplier appliedByOther) {
+        return acquire(adminClient, appliedByOther, ProvisionDeadline.NONE);
+    }
+
+    public Lease acquire(AdminClient adminClient, BooleanSupplier appliedByOther, ProvisionDeadline deadline) {
+        if (!properties.isEnabled()) {
+            return new Lease(Lease.Status.UNCOORDINATED, null);
+        }
+        AdminClientOperations.createTopicIfMissing(adminClient, new NewTopic(properties.getLockTopic(), 1, replicationFactor));
+        KafkaConsumer<byte[], byte[]> consumer = new KafkaConsumer<>(consumerConfigs());
+        try {
+            consumer.subscribe(Collections.singleton(properties.getLockTopic()));
+            Duration checkInterval = Duration.ofMillis(properties.getCheckIntervalMillis());
+            long waitTimeoutMillis = deadline.limit(properties.getWaitTimeoutMillis());
+            long waitDeadline = System.currentTimeMillis() + waitTimeoutMillis;
+            long ledgerCheckIntervalMillis = properties.getCheckIntervalMillis();
+            long nextLedgerCheck = System.currentTimeMillis() + ledgerCheckIntervalMillis;
+            boolean waited = false;
+            while (System.currentTimeMillis() < waitDeadline) {
+                consumer.poll(checkInterval);
+                if (!consumer.assignment().isEmpty()) {
+                    if (waited && appliedByOther.getAsBoolean()) {
+                        return alreadyApplied(consumer);
+                    }
+                    log.info("Acquired provisioning lease of group '{}'", group);
+                    return new Lease(Lease.Status.ACQUIRED, consumer);
+                }
+                waited = true;
+                if (System.currentTimeMillis() >= nextLedgerCheck) {
+                    if (appliedByOther.getAsBoolean()) {
+                        return alreadyApplied(consumer);
+                    }
+                    ledgerCheckIntervalMillis = Math.min(ledgerCheckIntervalMillis * 2,
+                        properties.getCheckIntervalMillis() * MAX_LEDGER_CHECK_BACKOFF);
+                    nextLedgerCheck = System.currentTimeMillis() + ledgerCheckIntervalMillis;
+                }
+            }
+            log.warn("Provisioning lease of group '{}' was not acquired within {} ms, provisioning without lease",
+                group, waitTimeoutMillis);
+            consumer.close();
+            return new Lease(Lease.Status.NOT_ACQUIRED, null);
+        } catch (RuntimeException exception) {
+            consumer.close();
+            throw exception;
+        }
+    }
+
+    private Lease alreadyApplied(KafkaConsumer<byte[], byte[]> consumer) {
+        log.info("Topics are provisioned by other instance of group '{}'", group);
+        consumer.close();
+        return new Lease(Lease.Status.ALREADY_APPLIED, null);
+    }
+
+    Properties consumerConfigs() {
+        Properties config = new Properties();
+        config.putAll(clientConfigs);
+        config.put(ConsumerConfig.CLIENT_ID_CONFIG, COORDINATOR_CLIENT_ID);
+        config.put(ConsumerConfig.GROUP_ID_CONFIG, group);
+        config.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        config.put(ConsumerConfig.MAX_POLL_INTERVAL_MS_CONFIG, (int) properties.getLeaseTimeoutMillis());
+        config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        return config;
+    }
+
+    public static final class Lease implements AutoCloseable {
+
+        public enum Status {
+            UNCOORDINATED, ACQUIRED, ALREADY_APPLIED, NOT_ACQUIRED
+        }
+
+        private final Status status;
+        private final KafkaConsumer<byte[], byte[]> consumer;
+
+        private Lease(Status status, KafkaConsumer<byte[], byte[]> consumer) {
+            this.status = status;
+            this.consumer = consumer;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public boolean isAlreadyApplied() {
+            return status == Status.ALREADY_APPLIED;
+        }
+
+        @Override
+        public void close() {
+            if (consumer != null) {
+                consumer.close();
+                log.debug("Released provisioning lease");
+            }
+        }
+    }
+}
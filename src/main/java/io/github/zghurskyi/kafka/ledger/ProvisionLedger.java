@@ -0,0 +1,171 @@
+package io.github.zghurskyi.kafka.ledger;
+
+import io.github.zghurskyi.kafka.ProvisionProperties;
+import io.github.zghurskyi.kafka.client.AdminClientOperations;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.config.TopicConfig;
+import org.apache.kafka.common.errors.UnknownTopicOrPartitionException;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+public class ProvisionLedger implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ProvisionLedger.class);
+
+    private static final String LEDGER_CLIENT_ID = "provisioning-ledger";
+    private static final int LEDGER_PARTITION = 0;
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(100);
+
+    private final boolean enabled;
+    private final Map<String, Object> clientConfigs;
+    private final String key;
+    private final ProvisionProperties.ProvisionLedgerProperties properties;
+
+    private KafkaConsumer<String, String> consumer;
+    private String appliedFingerprint;
+
+    public ProvisionLedger(boolean enabled, Map<String, ?> clientConfigs, String key,
+                           ProvisionProperties.ProvisionLedgerProperties properties) {
+        this.enabled = enabled;
+        this.clientConfigs = Collections.unmodifiableMap(new HashMap<>(clientConfigs));
+        this.key = key;
+        this.properties = properties;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public boolean isApplied(AdminClient adminClient, String fingerprint) {
+        if (!enabled || properties.isForceRefresh()) {
+            return false;
+        }
+        try {
+            if (!ledgerExists(adminClient)) {
+                return false;
+            }
+            return fingerprint.equals(readAppliedFingerprint());
+        } catch (RuntimeException exception) {
+            log.warn("Failed to read provisioning ledger '{}', full provisioning is performed. Error: {}",
+                properties.getTopic(), exception.getMessage());
+            close();
+            return false;
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (consumer != null) {
+            consumer.close();
+            consumer = null;
+            appliedFingerprint = null;
+        }
+    }
+
+    public void recordApplied(AdminClient adminClient, String fingerprint) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            createLedgerIfMissing(adminClient);
+            try (KafkaProducer<String, String> producer = new KafkaProducer<>(producerConfigs())) {
+                producer.send(new ProducerRecord<>(properties.getTopic(), LEDGER_PARTITION, key, fingerprint))
+                    .get(properties.getTimeoutMillis(), TimeUnit.MILLISECONDS);
+            }
+            log.debug("Recorded applied topic state '{}' for '{}' in provisioning ledger", fingerprint, key);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while recording provisioning ledger '{}'", properties.getTopic());
+        } catch (Exception exception) {
+            log.warn("Failed to record provisioning ledger '{}'. Error: {}", properties.getTopic(), exception.getMessage());
+        }
+    }
+
+    private boolean ledgerExists(AdminClient adminClient) {
+        return AdminClientOperations.await(AdminClientOperations
+            .describeTopicsAsync(adminClient, Collections.singleton(properties.getTopic()))
+            .handle((descriptions, throwable) -> {
+                if (throwable == null) {
+                    return true;
+                }
+                if (AdminClientOperations.unwrap(throwable) instanceof UnknownTopicOrPartitionException) {
+                    return false;
+                }
+                throw new CompletionException(AdminClientOperations.unwrap(throwable));
+            }));
+    }
+
+    private void createLedgerIfMissing(AdminClient adminClient) {
+        NewTopic ledgerTopic = new NewTopic(properties.getTopic(), 1, properties.getReplicationFactor())
+            .configs(Collections.singletonMap(TopicConfig.CLEANUP_POLICY_CONFIG, TopicConfig.CLEANUP_POLICY_COMPACT));
+        AdminClientOperations.createTopicIfMissing(adminClient, ledgerTopic);
+    }
+
+    private synchronized String readAppliedFingerprint() {
+        TopicPartition partition = new TopicPartition(properties.getTopic(), LEDGER_PARTITION);
+        long deadline = System.currentTimeMillis() + properties.getTimeoutMillis();
+        if (consumer == null) {
+            consumer = new KafkaConsumer<>(consumerConfigs());
+            consumer.assign(Collections.singleton(partition));
+            consumer.seekToBeginning(Collections.singleton(partition));
+        }
+        long endOffset = consumer.endOffsets(Collections.singleton(partition)).get(partition);
+        if (consumer.position(partition) > endOffset) {
+            consumer.seekToBeginning(Collections.singleton(partition));
+            appliedFingerprint = null;
+        }
+        while (consumer.position(partition) < endOffset) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new IllegalStateException("Ledger was not read within " + properties.getTimeoutMillis() + " ms");
+            }
+            for (ConsumerRecord<String, String> record : consumer.poll(POLL_TIMEOUT)) {
+                if (key.equals(record.key())) {
+                    appliedFingerprint = record.value();
+                }
+            }
+        }
+        return appliedFingerprint;
+    }
+
+    Properties consumerConfigs() {
+        Properties config = new Properties();
+        config.putAll(clientConfigs);
+        config.put(ConsumerConfig.CLIENT_ID_CONFIG, LEDGER_CLIENT_ID);
+        config.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        return config;
+    }
+
+    Properties producerConfigs() {
+        Properties config = new Properties();
+        config.putAll(clientConfigs);
+        config.put(ProducerConfig.CLIENT_ID_CONFIG, LEDGER_CLIENT_ID);
+        config.put(ProducerConfig.ACKS_CONFIG, "all");
+        config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        return config;
+    }
+}
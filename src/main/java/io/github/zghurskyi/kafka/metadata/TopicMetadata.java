@@ -0,0 +1,74 @@
+package io.github.zghurskyi.kafka.metadata;
+
+import org.apache.kafka.clients.admin.Config;
+import org.apache.kafka.clients.admin.TopicDescription;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+public final class TopicMetadata {
+
+    private final String name;
+    private final int partitionCount;
+    private final int replicationFactor;
+    private final boolean internal;
+    private final Map<String, String> configs;
+    private final long fetchedAtNanos;
+
+    private TopicMetadata(String name, int partitionCount, int replicationFactor, boolean internal,
+                          Map<String, String> configs, long fetchedAtNanos) {
+        this.name = name;
+        this.partitionCount = partitionCount;
+        this.replicationFactor = replicationFactor;
+        this.internal = internal;
+        this.configs = configs;
+        this.fetchedAtNanos = fetchedAtNanos;
+    }
+
+    public static TopicMetadata of(TopicDescription description, Config config, long fetchedAtNanos) {
+        Map<String, String> configs = new TreeMap<>();
+        config.entries().stream()
+            .filter(entry -> entry.value() != null)
+            .forEach(entry -> configs.put(entry.name(), entry.value()));
+        int replicationFactor = description.partitions().isEmpty()
+            ? 0
+            : description.partitions().get(0).replicas().size();
+        return new TopicMetadata(description.name(), description.partitions().size(), replicationFactor,
+            description.isInternal(), Collections.unmodifiableMap(configs), fetchedAtNanos);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getPartitionCount() {
+        return partitionCount;
+    }
+
+    public int getReplicationFactor() {
+        return replicationFactor;
+    }
+
+    public boolean isInternal() {
+        return internal;
+    }
+
+    public Map<String, String> getConfigs() {
+        return configs;
+    }
+
+    public String getConfig(String name) {
+        return configs.get(name);
+    }
+
+    long getFetchedAtNanos() {
+        return fetchedAtNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "TopicMetadata{name='" + name + "', partitionCount=" + partitionCount
+            + ", replicationFactor=" + replicationFactor + ", configs=" + configs + '}';
+    }
+}
@@ -0,0 +1,152 @@
+package io.github.zghurskyi.kafka.metadata;
+
+import io.github.zghurskyi.kafka.client.AdminClientFactory;
+import io.github.zghurskyi.kafka.client.AdminClientOperations;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.Config;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.config.ConfigResource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+public class TopicMetadataCache {
+
+    private static final Logger log = LoggerFactory.getLogger(TopicMetadataCache.class);
+
+    private final AdminClientFactory adminClientFactory;
+    private final long ttlNanos;
+    private final int maxSize;
+    private final LongSupplier clock;
+    private final Map<String, TopicMetadata> entries;
+    private final Map<String, CompletableFuture<TopicMetadata>> loads = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    public TopicMetadataCache(AdminClientFactory adminClientFactory, long ttlMillis, int maxSize) {
+        this(adminClientFactory, ttlMillis, maxSize, System::nanoTime);
+    }
+
+    TopicMetadataCache(AdminClientFactory adminClientFactory, long ttlMillis, int maxSize, LongSupplier clock) {
+        if (ttlMillis < 1 || maxSize < 1) {
+            throw new IllegalArgumentException("TTL and max size must be positive");
+        }
+        this.adminClientFactory = adminClientFactory;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.maxSize = maxSize;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<String, TopicMetadata>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, TopicMetadata> eldest) {
+                return size() > TopicMetadataCache.this.maxSize;
+            }
+        };
+    }
+
+    public TopicMetadata get(String topic) {
+        TopicMetadata cached = getIfPresent(topic);
+        return cached != null ? cached : AdminClientOperations.await(load(topic));
+    }
+
+    public int getPartitionCount(String topic) {
+        return get(topic).getPartitionCount();
+    }
+
+    public TopicMetadata getIfPresent(String topic) {
+        TopicMetadata cached;
+        synchronized (entries) {
+            cached = entries.get(topic);
+        }
+        return cached != null && clock.getAsLong() - cached.getFetchedAtNanos() < ttlNanos ? cached : null;
+    }
+
+    public CompletableFuture<TopicMetadata> load(String topic) {
+        CompletableFuture<TopicMetadata> load = new CompletableFuture<>();
+        CompletableFuture<TopicMetadata> inFlight = loads.putIfAbsent(topic, load);
+        if (inFlight != null) {
+            return inFlight;
+        }
+        long loadGeneration = generation.get();
+        fetch(topic).whenComplete((metadata, throwable) -> {
+            loads.remove(topic, load);
+            if (throwable != null) {
+                load.completeExceptionally(AdminClientOperations.unwrap(throwable));
+                return;
+            }
+            synchronized (entries) {
+                if (generation.get() == loadGeneration) {
+                    store(metadata);
+                }
+            }
+            load.complete(metadata);
+        });
+        return load;
+    }
+
+    public void populate(Map<String, TopicDescription> descriptions, Map<ConfigResource, Config> configs) {
+        long fetchedAtNanos = clock.getAsLong();
+        synchronized (entries) {
+            generation.incrementAndGet();
+            configs.forEach((resource, config) -> {
+                TopicDescription description = descriptions.get(resource.name());
+                if (description != null) {
+                    store(TopicMetadata.of(description, config, fetchedAtNanos));
+                }
+            });
+        }
+        log.debug("Topic metadata cache is populated with {} topics", size());
+    }
+
+    public void invalidate(Collection<String> topics) {
+        if (topics.isEmpty()) {
+            return;
+        }
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.keySet().removeAll(topics);
+        }
+        log.debug("Invalidated cached metadata of topics: {}", topics);
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private CompletableFuture<TopicMetadata> fetch(String topic) {
+        try {
+            AdminClient client = adminClientFactory.getAdminClient();
+            Set<String> topics = Collections.singleton(topic);
+            return AdminClientOperations.describeTopicsAsync(client, topics)
+                .thenCombine(AdminClientOperations.describeConfigsAsync(client, topics), (descriptions, configs) ->
+                    TopicMetadata.of(descriptions.get(topic),
+                        configs.get(new ConfigResource(ConfigResource.Type.TOPIC, topic)), clock.getAsLong()));
+        } catch (RuntimeException exception) {
+            CompletableFuture<TopicMetadata> failed = new CompletableFuture<>();
+            failed.completeExceptionally(exception);
+            return failed;
+        }
+    }
+
+    private void store(TopicMetadata metadata) {
+        entries.remove(metadata.getName());
+        entries.put(metadata.getName(), metadata);
+    }
+}
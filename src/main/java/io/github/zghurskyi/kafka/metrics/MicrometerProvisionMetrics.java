@@ -0,0 +1,103 @@
+package io.github.zghurskyi.kafka.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+public class MicrometerProvisionMetrics implements ProvisionMetrics {
+
+    static final String PHASE_TIMER = "kafka.provision.phase";
+    static final String ADMIN_CALL_TIMER = "kafka.provision.admin.call";
+    static final String TOPICS_COUNTER = "kafka.provision.topics";
+    static final String RETRIES_COUNTER = "kafka.provision.retries";
+    static final String LAST_RUN_GAUGE = "kafka.provision.last.run.duration";
+    static final String DEFAULT_CLUSTER = "default";
+
+    private static final String SUCCESS = "success";
+    private static final String FAILURE = "failure";
+
+    private final MeterRegistry registry;
+    private final Tags tags;
+    private final AtomicLong lastRunNanos = new AtomicLong();
+    private final Counter createdTopics;
+    private final Counter scaledTopics;
+    private final Counter reconfiguredTopics;
+    private final Counter retries;
+
+    public MicrometerProvisionMetrics(MeterRegistry registry) {
+        this(registry, DEFAULT_CLUSTER);
+    }
+
+    public MicrometerProvisionMetrics(MeterRegistry registry, String cluster) {
+        this.registry = registry;
+        this.tags = Tags.of("cluster", cluster);
+        this.createdTopics = topicsCounter("created");
+        this.scaledTopics = topicsCounter("scaled");
+        this.reconfiguredTopics = topicsCounter("reconfigured");
+        this.retries = Counter.builder(RETRIES_COUNTER)
+            .tags(tags)
+            .description("Retries of failed provisioning attempts")
+            .register(registry);
+        TimeGauge.builder(LAST_RUN_GAUGE, lastRunNanos, TimeUnit.NANOSECONDS, AtomicLong::doubleValue)
+            .tags(tags)
+            .description("Duration of the last provisioning run")
+            .register(registry);
+    }
+
+    @Override
+    public ProvisionMetrics forCluster(String cluster) {
+        return new MicrometerProvisionMetrics(registry, cluster);
+    }
+
+    @Override
+    public <T> T timePhase(String phase, Supplier<T> action) {
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = FAILURE;
+        try {
+            T result = action.get();
+            outcome = SUCCESS;
+            return result;
+        } finally {
+            sample.stop(registry.timer(PHASE_TIMER, tags.and("phase", phase, "outcome", outcome)));
+        }
+    }
+
+    @Override
+    public <T> CompletableFuture<T> timeAdminCall(String operation, CompletableFuture<T> call) {
+        Timer.Sample sample = Timer.start(registry);
+        return call.whenComplete((result, throwable) -> sample.stop(registry.timer(ADMIN_CALL_TIMER,
+            tags.and("operation", operation, "outcome", throwable == null ? SUCCESS : FAILURE))));
+    }
+
+    @Override
+    public void recordChanges(int createdTopics, int scaledTopics, int reconfiguredTopics) {
+        this.createdTopics.increment(createdTopics);
+        this.scaledTopics.increment(scaledTopics);
+        this.reconfiguredTopics.increment(reconfiguredTopics);
+    }
+
+    @Override
+    public void recordRetry() {
+        retries.increment();
+    }
+
+    @Override
+    public void recordRun(long durationNanos) {
+        lastRunNanos.set(durationNanos);
+    }
+
+    private Counter topicsCounter(String change) {
+        return Counter.builder(TOPICS_COUNTER)
+            .tags(tags)
+            .tag("change", change)
+            .description("Topics changed by provisioning")
+            .register(registry);
+    }
+}
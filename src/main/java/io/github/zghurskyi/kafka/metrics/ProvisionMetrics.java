@@ -0,0 +1,38 @@
+package io.github.zghurskyi.kafka.metrics;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+public interface ProvisionMetrics {
+
+    ProvisionMetrics NOOP = new ProvisionMetrics() {
+    };
+
+    default ProvisionMetrics forCluster(String cluster) {
+        return this;
+    }
+
+    default <T> T timePhase(String phase, Supplier<T> action) {
+        return action.get();
+    }
+
+    default void timePhase(String phase, Runnable action) {
+        timePhase(phase, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    default <T> CompletableFuture<T> timeAdminCall(String operation, CompletableFuture<T> call) {
+        return call;
+    }
+
+    default void recordChanges(int createdTopics, int scaledTopics, int reconfiguredTopics) {
+    }
+
+    default void recordRetry() {
+    }
+
+    default void recordRun(long durationNanos) {
+    }
+}
@@ -0,0 +1,173 @@
+package io.github.zghurskyi.kafka.metrics;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+public class ProvisionRunRecorder implements ProvisionMetrics {
+
+    private static final String SUCCESS = "success";
+    private static final String FAILURE = "failure";
+
+    private final ProvisionMetrics delegate;
+
+    private List<ProvisionRun.Timing> phases = new ArrayList<>();
+    private List<ProvisionRun.Timing> adminCalls = new ArrayList<>();
+    private int retries;
+    private int createdTopics;
+    private int scaledTopics;
+    private int reconfiguredTopics;
+    private volatile ProvisionRun lastRun;
+
+    public ProvisionRunRecorder(ProvisionMetrics delegate) {
+        this.delegate = delegate;
+    }
+
+    public ProvisionRun getLastRun() {
+        return lastRun;
+    }
+
+    @Override
+    public <T> T timePhase(String phase, Supplier<T> action) {
+        long startNanos = System.nanoTime();
+        String outcome = FAILURE;
+        try {
+            T result = delegate.timePhase(phase, action);
+            outcome = SUCCESS;
+            return result;
+        } finally {
+            recordPhase(phase, startNanos, outcome);
+        }
+    }
+
+    @Override
+    public <T> CompletableFuture<T> timeAdminCall(String operation, CompletableFuture<T> call) {
+        long startNanos = System.nanoTime();
+        return delegate.timeAdminCall(operation, call).whenComplete((result, throwable) ->
+            recordAdminCall(operation, startNanos, throwable == null ? SUCCESS : FAILURE));
+    }
+
+    @Override
+    public synchronized void recordChanges(int createdTopics, int scaledTopics, int reconfiguredTopics) {
+        delegate.recordChanges(createdTopics, scaledTopics, reconfiguredTopics);
+        this.createdTopics += createdTopics;
+        this.scaledTopics += scaledTopics;
+        this.reconfiguredTopics += reconfiguredTopics;
+    }
+
+    @Override
+    public synchronized void recordRetry() {
+        delegate.recordRetry();
+        retries++;
+    }
+
+    @Override
+    public synchronized void recordRun(long durationNanos) {
+        delegate.recordRun(durationNanos);
+        lastRun = new ProvisionRun(Instant.now().toString(), TimeUnit.NANOSECONDS.toMillis(durationNanos),
+            phases, adminCalls, retries, createdTopics, scaledTopics, reconfiguredTopics);
+        phases = new ArrayList<>();
+        adminCalls = new ArrayList<>();
+        retries = 0;
+        createdTopics = 0;
+        scaledTopics = 0;
+        reconfiguredTopics = 0;
+    }
+
+    private synchronized void recordPhase(String phase, long startNanos, String outcome) {
+        phases.add(new ProvisionRun.Timing(phase, elapsedMillis(startNanos), outcome));
+    }
+
+    private synchronized void recordAdminCall(String operation, long startNanos, String outcome) {
+        adminCalls.add(new ProvisionRun.Timing(operation, elapsedMillis(startNanos), outcome));
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    public static final class ProvisionRun {
+
+        private final String finishedAt;
+        private final long durationMillis;
+        private final List<Timing> phases;
+        private final List<Timing> adminCalls;
+        private final int retries;
+        private final int createdTopics;
+        private final int scaledTopics;
+        private final int reconfiguredTopics;
+
+        ProvisionRun(String finishedAt, long durationMillis, List<Timing> phases, List<Timing> adminCalls,
+                     int retries, int createdTopics, int scaledTopics, int reconfiguredTopics) {
+            this.finishedAt = finishedAt;
+            this.durationMillis = durationMillis;
+            this.phases = Collections.unmodifiableList(phases);
+            this.adminCalls = Collections.unmodifiableList(adminCalls);
+            this.retries = retries;
+            this.createdTopics = createdTopics;
+            this.scaledTopics = scaledTopics;
+            this.reconfiguredTopics = reconfiguredTopics;
+        }
+
+        public String getFinishedAt() {
+            return finishedAt;
+        }
+
+        public long getDurationMillis() {
+            return durationMillis;
+        }
+
+        public List<Timing> getPhases() {
+            return phases;
+        }
+
+        public List<Timing> getAdminCalls() {
+            return adminCalls;
+        }
+
+        public int getRetries() {
+            return retries;
+        }
+
+        public int getCreatedTopics() {
+            return createdTopics;
+        }
+
+        public int getScaledTopics() {
+            return scaledTopics;
+        }
+
+        public int getReconfiguredTopics() {
+            return reconfiguredTopics;
+        }
+
+        public static final class Timing {
+
+            private final String name;
+            private final long durationMillis;
+            private final String outcome;
+
+            Timing(String name, long durationMillis, String outcome) {
+                this.name = name;
+                this.durationMillis = durationMillis;
+                this.outcome = outcome;
+            }
+
+            public String getName() {
+                return name;
+            }
+
+            public long getDurationMillis() {
+                return durationMillis;
+            }
+
+            public String getOutcome() {
+                return outcome;
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package io.github.zghurskyi.kafka.placement;
+
+import io.github.zghurskyi.kafka.ProvisionProperties;
+import io.github.zghurskyi.kafka.client.AdminBatching;
+import io.github.zghurskyi.kafka.client.AdminClientOperations;
+import io.github.zghurskyi.kafka.client.ProvisionDeadline;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.TopicPartitionInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class LeaderSkewReporter {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaderSkewReporter.class);
+
+    private final ProvisionProperties.ProvisionLeaderSkewProperties properties;
+
+    public LeaderSkewReporter(ProvisionProperties.ProvisionLeaderSkewProperties properties) {
+        this.properties = properties;
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public List<TopicPartition> report(AdminClient client, Collection<String> topics,
+                                       Map<String, TopicDescription> described, AdminBatching batching,
+                                       ProvisionDeadline deadline) {
+        Map<String, TopicDescription> descriptions = new TreeMap<>();
+        List<String> undescribed = new ArrayList<>();
+        topics.forEach(topic -> {
+            TopicDescription description = described.get(topic);
+            if (description != null) {
+                descriptions.put(topic, description);
+            } else {
+                undescribed.add(topic);
+            }
+        });
+        if (!undescribed.isEmpty()) {
+            descriptions.putAll(AdminClientOperations.await(
+                AdminClientOperations.describeTopicsAsync(client, undescribed, batching, deadline),
+                deadline, batching.getRounds(undescribed.size())));
+        }
+        double skew = getLeaderSkew(descriptions.values());
+        List<TopicPartition> partitions = getNonPreferredLeaders(descriptions.values());
+        if (skew <= properties.getMaxSkew() || partitions.isEmpty()) {
+            log.debug("Leader skew {} of managed topics is within limit {}", skew, properties.getMaxSkew());
+            return new ArrayList<>();
+        }
+        log.warn("Leader skew {} of managed topics exceeds {}, {} partitions are not led by preferred replica. "
+                + "Run preferred leader election for partitions: {}",
+            skew, properties.getMaxSkew(), partitions.size(), partitions);
+        return partitions;
+    }
+
+    static double getLeaderSkew(Collection<TopicDescription> descriptions) {
+        Map<Integer, Integer> leaders = new TreeMap<>();
+        int total = 0;
+        for (TopicDescription description : descriptions) {
+            for (TopicPartitionInfo partition : description.partitions()) {
+                partition.replicas().forEach(replica -> leaders.putIfAbsent(replica.id(), 0));
+                if (partition.leader() != null) {
+                    leaders.merge(partition.leader().id(), 1, Integer::sum);
+                    total++;
+                }
+            }
+        }
+        if (total == 0) {
+            return 1.0;
+        }
+        int max = leaders.values().stream().mapToInt(Integer::intValue).max().orElse(0);
+        return max / ((double) total / leaders.size());
+    }
+
+    static List<TopicPartition> getNonPreferredLeaders(Collection<TopicDescription> descriptions) {
+        List<TopicPartition> partitions = new ArrayList<>();
+        for (TopicDescription description : descriptions) {
+            for (TopicPartitionInfo partition : description.partitions()) {
+                if (partition.replicas().isEmpty()) {
+                    continue;
+                }
+                Node preferred = partition.replicas().get(0);
+                boolean preferredLeads = partition.leader() != null && partition.leader().id() == preferred.id();
+                if (!preferredLeads && partition.isr().contains(preferred)) {
+                    partitions.add(new TopicPartition(description.name(), partition.partition()));
+                }
+            }
+        }
+        return partitions;
+    }
+}
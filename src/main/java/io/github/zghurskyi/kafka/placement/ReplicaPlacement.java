@@ -0,0 +1,142 @@
+package io.github.zghurskyi.kafka.placement;
+
+import io.github.zghurskyi.kafka.client.AdminBatching;
+import io.github.zghurskyi.kafka.client.AdminClientOperations;
+import io.github.zghurskyi.kafka.client.ProvisionDeadline;
+import io.github.zghurskyi.kafka.plan.PartitionIncrease;
+import io.github.zghurskyi.kafka.plan.TopicCreation;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.NewPartitions;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartitionInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+
+public class ReplicaPlacement {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaPlacement.class);
+
+    public static final ReplicaPlacement BROKER_DEFAULT = new ReplicaPlacement(Collections.emptyList(),
+        Collections.emptyList(), false);
+
+    private final Map<Integer, String> racks = new TreeMap<>();
+    private final Map<Integer, Integer> replicaCounts = new HashMap<>();
+    private final Map<Integer, Integer> leaderCounts = new HashMap<>();
+    private final Map<String, Integer> replicationFactors = new HashMap<>();
+    private final boolean rackAware;
+
+    ReplicaPlacement(Collection<Node> brokers, Collection<TopicDescription> topics, boolean rackAware) {
+        this.rackAware = rackAware;
+        brokers.forEach(broker -> {
+            racks.put(broker.id(), broker.rack());
+            replicaCounts.put(broker.id(), 0);
+            leaderCounts.put(broker.id(), 0);
+        });
+        topics.forEach(topic -> {
+            List<TopicPartitionInfo> partitions = topic.partitions();
+            if (!partitions.isEmpty()) {
+                replicationFactors.put(topic.name(), partitions.get(0).replicas().size());
+            }
+            partitions.forEach(partition -> {
+                partition.replicas().forEach(replica -> replicaCounts.computeIfPresent(replica.id(),
+                    (id, count) -> count + 1));
+                if (partition.leader() != null) {
+                    leaderCounts.computeIfPresent(partition.leader().id(), (id, count) -> count + 1);
+                }
+            });
+        });
+    }
+
+    public static CompletableFuture<ReplicaPlacement> describeAsync(AdminClient client, Set<String> topicsOnBroker,
+                                                                    AdminBatching batching, ProvisionDeadline deadline,
+                                                                    boolean rackAware) {
+        CompletableFuture<Collection<Node>> brokers = AdminClientOperations.describeClusterNodesAsync(client, deadline);
+        CompletableFuture<Map<String, TopicDescription>> topics =
+            AdminClientOperations.describeTopicsAsync(client, topicsOnBroker, batching, deadline);
+        return brokers.thenCombine(topics, (nodes, descriptions) -> {
+            ReplicaPlacement placement = new ReplicaPlacement(nodes, descriptions.values(), rackAware);
+            log.debug("Current replica load by broker: replicas {}, leaders {}",
+                placement.replicaCounts, placement.leaderCounts);
+            return placement;
+        });
+    }
+
+    public synchronized NewTopic newTopic(TopicCreation creation) {
+        int replicationFactor = creation.getTopic().getReplicationFactor();
+        if (replicationFactor > racks.size()) {
+            return creation.toNewTopic();
+        }
+        Map<Integer, List<Integer>> assignments = new LinkedHashMap<>();
+        for (int partition = 0; partition < creation.getTopic().getNumPartitions(); partition++) {
+            assignments.put(partition, assignPartition(replicationFactor));
+        }
+        log.debug("Replica assignment of topic '{}': {}", creation.getTopicName(), assignments);
+        return creation.toNewTopic(assignments);
+    }
+
+    public synchronized NewPartitions newPartitions(PartitionIncrease increase) {
+        Integer replicationFactor = replicationFactors.get(increase.getTopicName());
+        if (replicationFactor == null || replicationFactor > racks.size()) {
+            return increase.toNewPartitions();
+        }
+        List<List<Integer>> assignments = new ArrayList<>();
+        for (int partition = increase.getCurrentPartitions(); partition < increase.getTargetPartitions(); partition++) {
+            assignments.add(assignPartition(replicationFactor));
+        }
+        log.debug("Replica assignment of new partitions of topic '{}': {}", increase.getTopicName(), assignments);
+        return increase.toNewPartitions(assignments);
+    }
+
+    private List<Integer> assignPartition(int replicationFactor) {
+        List<Integer> replicas = new ArrayList<>(replicationFactor);
+        Set<String> usedRacks = new HashSet<>();
+        Integer leader = racks.keySet().stream()
+            .min(Comparator.comparingInt((Integer broker) -> leaderCounts.get(broker))
+                .thenComparingInt(replicaCounts::get))
+            .orElseThrow(IllegalStateException::new);
+        leaderCounts.merge(leader, 1, Integer::sum);
+        addReplica(replicas, usedRacks, leader);
+        while (replicas.size() < replicationFactor) {
+            List<Integer> candidates = new ArrayList<>();
+            racks.keySet().stream()
+                .filter(broker -> !replicas.contains(broker))
+                .forEach(candidates::add);
+            if (rackAware && candidates.stream().anyMatch(broker -> isOnNewRack(broker, usedRacks))) {
+                candidates.removeIf(broker -> !isOnNewRack(broker, usedRacks));
+            }
+            Integer follower = candidates.stream()
+                .min(Comparator.comparingInt((Integer broker) -> replicaCounts.get(broker))
+                    .thenComparingInt(leaderCounts::get))
+                .orElseThrow(IllegalStateException::new);
+            addReplica(replicas, usedRacks, follower);
+        }
+        return replicas;
+    }
+
+    private void addReplica(List<Integer> replicas, Set<String> usedRacks, Integer broker) {
+        replicas.add(broker);
+        replicaCounts.merge(broker, 1, Integer::sum);
+        if (racks.get(broker) != null) {
+            usedRacks.add(racks.get(broker));
+        }
+    }
+
+    private boolean isOnNewRack(Integer broker, Set<String> usedRacks) {
+        return racks.get(broker) == null || !usedRacks.contains(racks.get(broker));
+    }
+}
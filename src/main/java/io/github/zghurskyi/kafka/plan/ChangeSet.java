@@ -0,0 +1,34 @@
+package io.github.zghurskyi.kafka.plan;
+
+import java.util.Collections;
+import java.util.List;
+
+public final class ChangeSet {
+
+    private final List<TopicCreation> topicCreations;
+    private final List<PartitionIncrease> partitionIncreases;
+    private final List<ConfigChange> configChanges;
+
+    public ChangeSet(List<TopicCreation> topicCreations, List<PartitionIncrease> partitionIncreases,
+                     List<ConfigChange> configChanges) {
+        this.topicCreations = Collections.unmodifiableList(topicCreations);
+        this.partitionIncreases = Collections.unmodifiableList(partitionIncreases);
+        this.configChanges = Collections.unmodifiableList(configChanges);
+    }
+
+    public List<TopicCreation> getTopicCreations() {
+        return this.topicCreations;
+    }
+
+    public List<PartitionIncrease> getPartitionIncreases() {
+        return this.partitionIncreases;
+    }
+
+    public List<ConfigChange> getConfigChanges() {
+        return this.configChanges;
+    }
+
+    public boolean isEmpty() {
+        return topicCreations.isEmpty() && partitionIncreases.isEmpty() && configChanges.isEmpty();
+    }
+}
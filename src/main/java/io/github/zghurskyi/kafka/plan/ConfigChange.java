@@ -0,0 +1,54 @@
+package io.github.zghurskyi.kafka.plan;
+
+import org.apache.kafka.clients.admin.Config;
+import org.apache.kafka.clients.admin.ConfigEntry;
+import org.apache.kafka.common.config.ConfigResource;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public final class ConfigChange {
+
+    private final String topicName;
+    private final Map<String, String> currentValues;
+    private final Map<String, String> updatedValues;
+    private final Map<String, String> retainedOverrides;
+
+    public ConfigChange(String topicName, Map<String, String> currentValues, Map<String, String> updatedValues,
+                        Map<String, String> retainedOverrides) {
+        this.topicName = topicName;
+        this.currentValues = Collections.unmodifiableMap(new LinkedHashMap<>(currentValues));
+        this.updatedValues = Collections.unmodifiableMap(new LinkedHashMap<>(updatedValues));
+        this.retainedOverrides = Collections.unmodifiableMap(new LinkedHashMap<>(retainedOverrides));
+    }
+
+    public String getTopicName() {
+        return this.topicName;
+    }
+
+    public Map<String, String> getCurrentValues() {
+        return this.currentValues;
+    }
+
+    public Map<String, String> getUpdatedValues() {
+        return this.updatedValues;
+    }
+
+    public Map<String, String> getRetainedOverrides() {
+        return this.retainedOverrides;
+    }
+
+    public ConfigResource toConfigResource() {
+        return new ConfigResource(ConfigResource.Type.TOPIC, topicName);
+    }
+
+    public Config toConfig() {
+        Map<String, String> overrides = new LinkedHashMap<>(retainedOverrides);
+        overrides.putAll(updatedValues);
+        return new Config(overrides.entrySet().stream()
+            .map(entry -> new ConfigEntry(entry.getKey(), entry.getValue()))
+            .collect(Collectors.toList()));
+    }
+}
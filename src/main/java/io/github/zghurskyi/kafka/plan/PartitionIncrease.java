@@ -0,0 +1,38 @@
+package io.github.zghurskyi.kafka.plan;
+
+import org.apache.kafka.clients.admin.NewPartitions;
+
+import java.util.List;
+
+public final class PartitionIncrease {
+
+    private final String topicName;
+    private final int currentPartitions;
+    private final int targetPartitions;
+
+    public PartitionIncrease(String topicName, int currentPartitions, int targetPartitions) {
+        this.topicName = topicName;
+        this.currentPartitions = currentPartitions;
+        this.targetPartitions = targetPartitions;
+    }
+
+    public String getTopicName() {
+        return this.topicName;
+    }
+
+    public int getCurrentPartitions() {
+        return this.currentPartitions;
+    }
+
+    public int getTargetPartitions() {
+        return this.targetPartitions;
+    }
+
+    public NewPartitions toNewPartitions() {
+        return NewPartitions.increaseTo(targetPartitions);
+    }
+
+    public NewPartitions toNewPartitions(List<List<Integer>> newAssignments) {
+        return NewPartitions.increaseTo(targetPartitions, newAssignments);
+    }
+}
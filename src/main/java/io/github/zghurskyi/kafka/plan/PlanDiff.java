@@ -0,0 +1,199 @@
+package io.github.zghurskyi.kafka.plan;
+
+import io.github.zghurskyi.kafka.client.AdminBatching;
+import io.github.zghurskyi.kafka.client.AdminClientOperations;
+import io.github.zghurskyi.kafka.client.ProvisionDeadline;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.Config;
+import org.apache.kafka.clients.admin.ConfigEntry;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.config.ConfigResource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+public final class PlanDiff {
+
+    private static final Logger log = LoggerFactory.getLogger(PlanDiff.class);
+
+    private PlanDiff() {
+        throw new UnsupportedOperationException("Instantiation is not supported!");
+    }
+
+    public static CompletableFuture<ChangeSet> resolve(AdminClient client, ProvisionPlan plan, AdminBatching batching) {
+        return resolve(client, plan, batching, ProvisionDeadline.NONE);
+    }
+
+    public static CompletableFuture<ChangeSet> resolve(AdminClient client, ProvisionPlan plan, AdminBatching batching,
+                                                       ProvisionDeadline deadline) {
+        return AdminClientOperations.listTopicsAsync(client, deadline).thenCompose(topicsOnBroker -> {
+            CompletableFuture<List<PartitionIncrease>> partitionIncreases =
+                resolvePartitionIncreases(client, plan, topicsOnBroker, batching, deadline);
+            CompletableFuture<List<ConfigChange>> configChanges =
+                resolveConfigChanges(client, plan, topicsOnBroker, batching, deadline);
+            return partitionIncreases.thenCombine(configChanges, (increases, changes) ->
+                new ChangeSet(getTopicCreations(plan, topicsOnBroker), increases, changes));
+        });
+    }
+
+    public static CompletableFuture<List<PartitionIncrease>> resolvePartitionIncreases(AdminClient client,
+                                                                                       ProvisionPlan plan,
+                                                                                       Set<String> topicsOnBroker,
+                                                                                       AdminBatching batching,
+                                                                                       ProvisionDeadline deadline) {
+        return describeExistingTopics(client, plan, topicsOnBroker, batching, deadline)
+            .thenApply(descriptions -> getPartitionIncreases(plan, descriptions));
+    }
+
+    public static CompletableFuture<List<ConfigChange>> resolveConfigChanges(AdminClient client,
+                                                                             ProvisionPlan plan,
+                                                                             Set<String> topicsOnBroker,
+                                                                             AdminBatching batching,
+                                                                             ProvisionDeadline deadline) {
+        return describeExistingConfigs(client, plan, topicsOnBroker, batching, deadline)
+            .thenApply(currentConfigs -> getConfigChanges(plan, currentConfigs));
+    }
+
+    public static CompletableFuture<Map<String, TopicDescription>> describeExistingTopics(AdminClient client,
+                                                                                         ProvisionPlan plan,
+                                                                                         Set<String> topicsOnBroker,
+                                                                                         AdminBatching batching,
+                                                                                         ProvisionDeadline deadline) {
+        if (!plan.isAutoAddPartitions()) {
+            return CompletableFuture.completedFuture(Collections.emptyMap());
+        }
+        return AdminClientOperations
+            .describeTopicsAsync(client, plan.getExistingTopics(topicsOnBroker), batching, deadline);
+    }
+
+    public static CompletableFuture<Map<ConfigResource, Config>> describeExistingConfigs(AdminClient client,
+                                                                                        ProvisionPlan plan,
+                                                                                        Set<String> topicsOnBroker,
+                                                                                        AdminBatching batching,
+                                                                                        ProvisionDeadline deadline) {
+        if (!plan.isAutoUpdateConfig()) {
+            return CompletableFuture.completedFuture(Collections.emptyMap());
+        }
+        return AdminClientOperations
+            .describeConfigsAsync(client, plan.getExistingTopics(topicsOnBroker), batching, deadline);
+    }
+
+    public static List<TopicCreation> getTopicCreations(ProvisionPlan plan, Set<String> topicsOnBroker) {
+        if (!plan.isAutoCreateTopics()) {
+            return Collections.emptyList();
+        }
+        return plan.getTopics().stream()
+            .filter(topic -> !topicsOnBroker.contains(topic.getName()))
+            .map(TopicCreation::new)
+            .collect(Collectors.toList());
+    }
+
+    public static List<PartitionIncrease> getPartitionIncreases(ProvisionPlan plan,
+                                                                Map<String, TopicDescription> descriptions) {
+        List<PartitionIncrease> partitionIncreases = new ArrayList<>();
+        descriptions.forEach((topicName, topicDescription) -> {
+            TopicSpec topic = plan.getTopic(topicName);
+            if (topic == null) {
+                return;
+            }
+            int actualPartitionNumber = topicDescription.partitions().size();
+            int configPartitionNumber = topic.getNumPartitions();
+            if (actualPartitionNumber < configPartitionNumber) {
+                partitionIncreases.add(new PartitionIncrease(topicName, actualPartitionNumber, configPartitionNumber));
+            }
+            logPartitionsUpdate(topicName, actualPartitionNumber, configPartitionNumber);
+        });
+        return partitionIncreases;
+    }
+
+    public static List<ConfigChange> getConfigChanges(ProvisionPlan plan, Map<ConfigResource, Config> currentConfigs) {
+        List<ConfigChange> configChanges = new ArrayList<>();
+        currentConfigs.forEach((configResource, currentConfig) -> {
+            TopicSpec topic = plan.getTopic(configResource.name());
+            if (topic == null) {
+                return;
+            }
+            Map<String, String> currentValues = new LinkedHashMap<>();
+            Map<String, String> updatedValues = new LinkedHashMap<>();
+            topic.getConfigs().forEach((name, value) -> {
+                ConfigEntry currentEntry = currentConfig.get(name);
+                if (isChanged(currentEntry, value)) {
+                    currentValues.put(name, currentEntry == null ? null : currentEntry.value());
+                    updatedValues.put(name, value);
+                    logConfigUpdate(topic.getName(), name, currentEntry, value);
+                }
+            });
+            Set<String> unreadableOverrides = getUnreadableOverrides(currentConfig, updatedValues.keySet());
+            if (!updatedValues.isEmpty() && !unreadableOverrides.isEmpty()) {
+                log.warn("Topic '{}': config change is refused, overrides {} have no readable value and would be "
+                    + "lost by alterConfigs, declare them in topic configs", topic.getName(), unreadableOverrides);
+            } else if (!updatedValues.isEmpty()) {
+                configChanges.add(new ConfigChange(topic.getName(), currentValues, updatedValues,
+                    getRetainedOverrides(currentConfig, updatedValues.keySet())));
+            }
+        });
+        if (configChanges.isEmpty()) {
+            log.debug("Configs of the managed topics are up to date");
+        }
+        return configChanges;
+    }
+
+    private static boolean isChanged(ConfigEntry currentEntry, String updatedValue) {
+        return currentEntry == null
+            || !isTopicOverride(currentEntry)
+            || !updatedValue.equals(currentEntry.value());
+    }
+
+    private static boolean isTopicOverride(ConfigEntry configEntry) {
+        ConfigEntry.ConfigSource source = configEntry.source();
+        if (source == ConfigEntry.ConfigSource.UNKNOWN) {
+            return !configEntry.isDefault() && !configEntry.isReadOnly();
+        }
+        return source == ConfigEntry.ConfigSource.DYNAMIC_TOPIC_CONFIG;
+    }
+
+    private static Map<String, String> getRetainedOverrides(Config currentConfig, Set<String> changedNames) {
+        Map<String, String> retainedOverrides = new LinkedHashMap<>();
+        currentConfig.entries().stream()
+            .filter(PlanDiff::isTopicOverride)
+            .filter(configEntry -> configEntry.value() != null && !changedNames.contains(configEntry.name()))
+            .forEach(configEntry -> retainedOverrides.put(configEntry.name(), configEntry.value()));
+        return retainedOverrides;
+    }
+
+    private static Set<String> getUnreadableOverrides(Config currentConfig, Set<String> changedNames) {
+        return currentConfig.entries().stream()
+            .filter(PlanDiff::isTopicOverride)
+            .filter(configEntry -> configEntry.value() == null && !changedNames.contains(configEntry.name()))
+            .map(ConfigEntry::name)
+            .collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    private static void logPartitionsUpdate(String topicName, int actualPartitionNumber, int configPartitionNumber) {
+        if (actualPartitionNumber < configPartitionNumber) {
+            log.debug("About to add partitions '{}': {}", topicName, configPartitionNumber - actualPartitionNumber);
+        } else if (actualPartitionNumber > configPartitionNumber) {
+            log.warn("Configured partition number is less then actual. Topic '{}': config {}, actual {}.",
+                topicName, configPartitionNumber, actualPartitionNumber);
+        }
+    }
+
+    private static void logConfigUpdate(String topicName, String configName, ConfigEntry currentEntry,
+                                        String updatedValue) {
+        if (currentEntry != null && !updatedValue.equals(currentEntry.value())) {
+            log.warn("Topic '{}': config '{}' changed from {} to {}", topicName,
+                configName, currentEntry.value(), updatedValue);
+        } else {
+            log.debug("Topic '{}': new config added '{}' = {}", topicName, configName, updatedValue);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package io.github.zghurskyi.kafka.plan;
+
+import io.github.zghurskyi.kafka.client.AdminBatching;
+import io.github.zghurskyi.kafka.client.AdminClientFactory;
+import io.github.zghurskyi.kafka.client.AdminClientOperations;
+import org.apache.kafka.clients.admin.AdminClient;
+
+public class ProvisionDryRun {
+
+    private static final int PIPELINE_DEPTH = 2;
+
+    private final ProvisionPlan plan;
+    private final AdminClientFactory adminClientFactory;
+    private final AdminBatching batching;
+
+    public ProvisionDryRun(ProvisionPlan plan, AdminClientFactory adminClientFactory, AdminBatching batching) {
+        this.plan = plan;
+        this.adminClientFactory = adminClientFactory;
+        this.batching = batching;
+    }
+
+    public ProvisionPlan getPlan() {
+        return plan;
+    }
+
+    public ChangeSet getChangeSet() {
+        AdminClient adminClient = adminClientFactory.getAdminClient();
+        return AdminClientOperations.await(PlanDiff.resolve(adminClient, plan, batching),
+            PIPELINE_DEPTH * batching.getRounds(plan.getTopics().size()));
+    }
+}
@@ -0,0 +1,150 @@
+package io.github.zghurskyi.kafka.plan;
+
+import io.github.zghurskyi.kafka.ProvisionProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public final class ProvisionPlan {
+
+    private static final Logger log = LoggerFactory.getLogger(ProvisionPlan.class);
+
+    private static final String FINGERPRINT_ALGORITHM = "SHA-256";
+
+    private final Map<String, TopicSpec> topics;
+    private final boolean autoCreateTopics;
+    private final boolean autoAddPartitions;
+    private final boolean autoUpdateConfig;
+    private final String fingerprint;
+
+    private ProvisionPlan(Map<String, TopicSpec> topics, boolean autoCreateTopics,
+                          boolean autoAddPartitions, boolean autoUpdateConfig) {
+        this.topics = Collections.unmodifiableMap(topics);
+        this.autoCreateTopics = autoCreateTopics;
+        this.autoAddPartitions = autoAddPartitions;
+        this.autoUpdateConfig = autoUpdateConfig;
+        this.fingerprint = computeFingerprint();
+    }
+
+    public static ProvisionPlan compile(ProvisionProperties properties) {
+        return compile(properties, TopicTemplateExpander.WITHOUT_SUPPLIERS);
+    }
+
+    public static ProvisionPlan compile(ProvisionProperties properties, TopicTemplateExpander templateExpander) {
+        return compile(properties, properties.getTopics(), properties.getTemplates(), templateExpander);
+    }
+
+    public static ProvisionPlan compile(ProvisionProperties properties,
+                                        ProvisionProperties.ProvisionClusterProperties cluster,
+                                        TopicTemplateExpander templateExpander) {
+        return compile(properties, cluster.getTopics(), cluster.getTemplates(), templateExpander);
+    }
+
+    private static ProvisionPlan compile(ProvisionProperties properties,
+                                         List<ProvisionProperties.TopicProperties> topicProperties,
+                                         List<ProvisionProperties.TopicTemplateProperties> templates,
+                                         TopicTemplateExpander templateExpander) {
+        Map<String, TopicSpec> topics = new LinkedHashMap<>();
+        Stream.concat(topicProperties.stream().map(TopicSpec::of),
+            templates.stream().flatMap(templateExpander::expand))
+            .forEach(topicSpec -> {
+                if (topics.putIfAbsent(topicSpec.getName(), topicSpec) != null) {
+                    log.warn("Topic '{}' is configured more than once, only first definition is used",
+                        topicSpec.getName());
+                }
+            });
+        return new ProvisionPlan(topics, properties.isAutoCreateTopics(),
+            properties.isAutoAddPartitions(), properties.isAutoUpdateConfig());
+    }
+
+    public Collection<TopicSpec> getTopics() {
+        return this.topics.values();
+    }
+
+    public Set<String> getTopicNames() {
+        return this.topics.keySet();
+    }
+
+    public TopicSpec getTopic(String name) {
+        return this.topics.get(name);
+    }
+
+    public boolean isManaged(String name) {
+        return this.topics.containsKey(name);
+    }
+
+    public boolean isEmpty() {
+        return this.topics.isEmpty();
+    }
+
+    public Set<String> getExistingTopics(Set<String> topicsOnBroker) {
+        return this.topics.keySet().stream()
+            .filter(topicsOnBroker::contains)
+            .collect(Collectors.toSet());
+    }
+
+    public boolean isAutoCreateTopics() {
+        return this.autoCreateTopics;
+    }
+
+    public boolean isAutoAddPartitions() {
+        return this.autoAddPartitions;
+    }
+
+    public boolean isAutoUpdateConfig() {
+        return this.autoUpdateConfig;
+    }
+
+    public String getFingerprint() {
+        return this.fingerprint;
+    }
+
+    public ProvisionPlan changedSince(ProvisionPlan previous) {
+        if (autoCreateTopics != previous.autoCreateTopics || autoAddPartitions != previous.autoAddPartitions
+            || autoUpdateConfig != previous.autoUpdateConfig) {
+            return this;
+        }
+        Map<String, TopicSpec> changedTopics = new LinkedHashMap<>();
+        topics.forEach((name, topic) -> {
+            if (!topic.equals(previous.getTopic(name))) {
+                changedTopics.put(name, topic);
+            }
+        });
+        return new ProvisionPlan(changedTopics, autoCreateTopics, autoAddPartitions, autoUpdateConfig);
+    }
+
+    private String computeFingerprint() {
+        StringBuilder canonical = new StringBuilder()
+            .append(autoCreateTopics).append('|')
+            .append(autoAddPartitions).append('|')
+            .append(autoUpdateConfig).append('\n');
+        new TreeMap<>(topics).values().forEach(topic -> canonical
+            .append(topic.getName()).append('|')
+            .append(topic.getNumPartitions()).append('|')
+            .append(topic.getReplicationFactor()).append('|')
+            .append(new TreeMap<>(topic.getConfigs())).append('\n'));
+        try {
+            byte[] digest = MessageDigest.getInstance(FINGERPRINT_ALGORITHM)
+                .digest(canonical.toString().getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder();
+            for (byte value : digest) {
+                hex.append(String.format("%02x", value));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(FINGERPRINT_ALGORITHM + " is not supported!", exception);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package io.github.zghurskyi.kafka.plan;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public final class ProvisionReport {
+
+    public enum Outcome {
+        CREATED, UPDATED, UNCHANGED, FAILED
+    }
+
+    private final Map<String, TopicOutcome> topics;
+
+    private ProvisionReport(Map<String, TopicOutcome> topics) {
+        this.topics = Collections.unmodifiableMap(topics);
+    }
+
+    public static ProvisionReport of(ProvisionPlan plan, ChangeSet changeSet, Map<String, Throwable> failures) {
+        Set<String> created = changeSet.getTopicCreations().stream()
+            .map(TopicCreation::getTopicName)
+            .collect(Collectors.toSet());
+        Set<String> updated = changeSet.getPartitionIncreases().stream()
+            .map(PartitionIncrease::getTopicName)
+            .collect(Collectors.toSet());
+        changeSet.getConfigChanges().forEach(configChange -> updated.add(configChange.getTopicName()));
+
+        Map<String, TopicOutcome> topics = new LinkedHashMap<>();
+        for (String topicName : plan.getTopicNames()) {
+            Throwable failure = failures.get(topicName);
+            if (failure != null) {
+                topics.put(topicName, new TopicOutcome(Outcome.FAILED,
+                    failure.getClass().getSimpleName() + ": " + failure.getMessage()));
+            } else if (created.contains(topicName)) {
+                topics.put(topicName, new TopicOutcome(Outcome.CREATED, null));
+            } else if (updated.contains(topicName)) {
+                topics.put(topicName, new TopicOutcome(Outcome.UPDATED, null));
+            } else {
+                topics.put(topicName, new TopicOutcome(Outcome.UNCHANGED, null));
+            }
+        }
+        return new ProvisionReport(topics);
+    }
+
+    public Map<String, TopicOutcome> getTopics() {
+        return this.topics;
+    }
+
+    public Set<String> getFailedTopics() {
+        return topics.entrySet().stream()
+            .filter(entry -> entry.getValue().getOutcome() == Outcome.FAILED)
+            .map(Map.Entry::getKey)
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    public boolean hasFailures() {
+        return topics.values().stream().anyMatch(topic -> topic.getOutcome() == Outcome.FAILED);
+    }
+
+    public static final class TopicOutcome {
+
+        private final Outcome outcome;
+        private final String error;
+
+        TopicOutcome(Outcome outcome, String error) {
+            this.outcome = outcome;
+            this.error = error;
+        }
+
+        public Outcome getOutcome() {
+            return this.outcome;
+        }
+
+        public String getError() {
+            return this.error;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package io.github.zghurskyi.kafka.plan;
+
+import org.apache.kafka.clients.admin.NewTopic;
+
+import java.util.List;
+import java.util.Map;
+
+public final class TopicCreation {
+
+    private final TopicSpec topic;
+
+    public TopicCreation(TopicSpec topic) {
+        this.topic = topic;
+    }
+
+    public String getTopicName() {
+        return this.topic.getName();
+    }
+
+    public TopicSpec getTopic() {
+        return this.topic;
+    }
+
+    public NewTopic toNewTopic() {
+        return topic.toNewTopic();
+    }
+
+    public NewTopic toNewTopic(Map<Integer, List<Integer>> replicasAssignments) {
+        return topic.toNewTopic(replicasAssignments);
+    }
+}
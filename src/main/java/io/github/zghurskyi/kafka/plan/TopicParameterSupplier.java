@@ -0,0 +1,9 @@
+package io.github.zghurskyi.kafka.plan;
+
+import java.util.stream.Stream;
+
+@FunctionalInterface
+public interface TopicParameterSupplier {
+
+    Stream<String> values();
+}
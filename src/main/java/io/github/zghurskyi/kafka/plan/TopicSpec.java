@@ -0,0 +1,91 @@
+package io.github.zghurskyi.kafka.plan;
+
+import io.github.zghurskyi.kafka.ProvisionProperties;
+import org.apache.kafka.clients.admin.NewTopic;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+public final class TopicSpec {
+
+    private final String name;
+    private final int numPartitions;
+    private final short replicationFactor;
+    private final Map<String, String> configs;
+
+    public TopicSpec(String name, int numPartitions, short replicationFactor, Map<String, String> configs) {
+        this.name = name;
+        this.numPartitions = numPartitions;
+        this.replicationFactor = replicationFactor;
+        this.configs = Collections.unmodifiableMap(new LinkedHashMap<>(configs));
+    }
+
+    private TopicSpec(TopicSpec prototype, String name) {
+        this.name = name;
+        this.numPartitions = prototype.numPartitions;
+        this.replicationFactor = prototype.replicationFactor;
+        this.configs = prototype.configs;
+    }
+
+    public static TopicSpec of(ProvisionProperties.TopicProperties topicProperties) {
+        return new TopicSpec(topicProperties.getName(), topicProperties.getNumPartitions(),
+            topicProperties.getReplicationFactor(), topicProperties.getConfigs());
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public int getNumPartitions() {
+        return this.numPartitions;
+    }
+
+    public short getReplicationFactor() {
+        return this.replicationFactor;
+    }
+
+    public Map<String, String> getConfigs() {
+        return this.configs;
+    }
+
+    public TopicSpec withName(String name) {
+        return new TopicSpec(this, name);
+    }
+
+    public NewTopic toNewTopic() {
+        return new NewTopic(name, numPartitions, replicationFactor).configs(configs);
+    }
+
+    public NewTopic toNewTopic(Map<Integer, List<Integer>> replicasAssignments) {
+        return new NewTopic(name, replicasAssignments).configs(configs);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (other == null || getClass() != other.getClass()) {
+            return false;
+        }
+        TopicSpec topicSpec = (TopicSpec) other;
+        return numPartitions == topicSpec.numPartitions
+            && replicationFactor == topicSpec.replicationFactor
+            && name.equals(topicSpec.name)
+            && configs.equals(topicSpec.configs);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, numPartitions, replicationFactor, configs);
+    }
+
+    @Override
+    public String toString() {
+        return "TopicSpec(name=" + name + ", numPartitions=" + numPartitions
+            + ", replicationFactor=" + replicationFactor + ", configs=" + configs + ")";
+    }
+}
@@ -0,0 +1,111 @@
+package io.github.zghurskyi.kafka.plan;
+
+import io.github.zghurskyi.kafka.ProvisionProperties;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+public class TopicTemplateExpander {
+
+    public static final TopicTemplateExpander WITHOUT_SUPPLIERS = new TopicTemplateExpander(supplier -> {
+        throw new IllegalArgumentException("Topic parameter supplier '" + supplier + "' is not available");
+    });
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{([^{}]+)}");
+    private static final Pattern TOPIC_NAME = Pattern.compile("[a-zA-Z0-9._\\-]{1,249}");
+
+    private final Function<String, TopicParameterSupplier> suppliers;
+
+    public TopicTemplateExpander(Function<String, TopicParameterSupplier> suppliers) {
+        this.suppliers = suppliers;
+    }
+
+    public Stream<TopicSpec> expand(ProvisionProperties.TopicTemplateProperties template) {
+        TopicSpec prototype = new TopicSpec(template.getName(), template.getNumPartitions(),
+            template.getReplicationFactor(), template.getConfigs());
+        List<String> literals = new ArrayList<>();
+        List<String> placeholders = new ArrayList<>();
+        Matcher matcher = PLACEHOLDER.matcher(template.getName());
+        int position = 0;
+        while (matcher.find()) {
+            literals.add(template.getName().substring(position, matcher.start()));
+            placeholders.add(matcher.group(1));
+            position = matcher.end();
+        }
+        literals.add(template.getName().substring(position));
+
+        List<String> parameters = new ArrayList<>(template.getParameters().keySet());
+        List<TopicParameterSupplier> sources = new ArrayList<>(parameters.size());
+        template.getParameters().forEach((parameter, source) -> {
+            if (!placeholders.contains(parameter)) {
+                throw new IllegalArgumentException("Parameter '" + parameter + "' is not used by topic template '"
+                    + template.getName() + "'");
+            }
+            sources.add(sourceOf(template.getName(), parameter, source));
+        });
+        int[] slots = placeholders.stream().mapToInt(placeholder -> {
+            int slot = parameters.indexOf(placeholder);
+            if (slot < 0) {
+                throw new IllegalArgumentException("Parameter '" + placeholder + "' of topic template '"
+                    + template.getName() + "' is not defined");
+            }
+            return slot;
+        }).toArray();
+
+        Stream<String[]> bindings = Stream.<String[]>of(new String[parameters.size()]);
+        for (int index = 0; index < sources.size(); index++) {
+            int slot = index;
+            TopicParameterSupplier source = sources.get(slot);
+            bindings = bindings.flatMap(binding -> source.values().map(value -> {
+                String[] next = Arrays.copyOf(binding, binding.length);
+                next[slot] = value;
+                return next;
+            }));
+        }
+        return bindings.map(binding -> prototype.withName(render(template.getName(), literals, slots, binding)));
+    }
+
+    private TopicParameterSupplier sourceOf(String template, String parameter,
+                                            ProvisionProperties.TopicTemplateParameterProperties source) {
+        boolean range = source.getFrom() != null || source.getTo() != null;
+        boolean values = !source.getValues().isEmpty();
+        boolean supplier = source.getSupplier() != null;
+        if ((range ? 1 : 0) + (values ? 1 : 0) + (supplier ? 1 : 0) != 1) {
+            throw new IllegalArgumentException("Parameter '" + parameter + "' of topic template '" + template
+                + "' must define exactly one of range (from, to), values or supplier");
+        }
+        if (range) {
+            if (source.getFrom() == null || source.getTo() == null || source.getFrom() > source.getTo()) {
+                throw new IllegalArgumentException("Parameter '" + parameter + "' of topic template '" + template
+                    + "' has invalid range [" + source.getFrom() + ", " + source.getTo() + "]");
+            }
+            String format = source.getFormat();
+            return () -> IntStream.rangeClosed(source.getFrom(), source.getTo())
+                .mapToObj(value -> format == null ? String.valueOf(value) : String.format(format, value));
+        }
+        if (values) {
+            List<String> list = new ArrayList<>(source.getValues());
+            return list::stream;
+        }
+        return suppliers.apply(source.getSupplier());
+    }
+
+    private static String render(String template, List<String> literals, int[] slots, String[] binding) {
+        StringBuilder name = new StringBuilder(template.length()).append(literals.get(0));
+        for (int index = 0; index < slots.length; index++) {
+            name.append(binding[slots[index]]).append(literals.get(index + 1));
+        }
+        String topic = name.toString();
+        if (!TOPIC_NAME.matcher(topic).matches()) {
+            throw new IllegalArgumentException("Topic template '" + template + "' expanded to invalid topic name '"
+                + topic + "'");
+        }
+        return topic;
+    }
+}
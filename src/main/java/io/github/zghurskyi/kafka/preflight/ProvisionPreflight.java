@@ -0,0 +1,130 @@
+package io.github.zghurskyi.kafka.preflight;
+
+import io.github.zghurskyi.kafka.ProvisionProperties;
+import io.github.zghurskyi.kafka.client.AdminClientOperations;
+import io.github.zghurskyi.kafka.client.ProvisionDeadline;
+import io.github.zghurskyi.kafka.plan.ProvisionPlan;
+import io.github.zghurskyi.kafka.plan.TopicSpec;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.config.TopicConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+public final class ProvisionPreflight {
+
+    private static final Logger log = LoggerFactory.getLogger(ProvisionPreflight.class);
+
+    private static final Set<String> TOPIC_CONFIG_NAMES = getTopicConfigNames();
+
+    private final ProvisionProperties.ProvisionPreflightProperties properties;
+    private final boolean explicitPlacement;
+
+    public ProvisionPreflight(ProvisionProperties.ProvisionPreflightProperties properties, boolean explicitPlacement) {
+        this.properties = properties;
+        this.explicitPlacement = explicitPlacement;
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public CompletableFuture<List<String>> checkAsync(AdminClient client, ProvisionPlan plan,
+                                                      Set<String> topicsOnBroker, ProvisionDeadline deadline) {
+        return AdminClientOperations.describeClusterNodesAsync(client, deadline)
+            .thenApply(nodes -> check(plan, topicsOnBroker, nodes));
+    }
+
+    List<String> check(ProvisionPlan plan, Set<String> topicsOnBroker, Collection<Node> brokers) {
+        List<String> violations = new ArrayList<>();
+        List<TopicSpec> creations = plan.isAutoCreateTopics()
+            ? plan.getTopics().stream()
+                .filter(topic -> !topicsOnBroker.contains(topic.getName()))
+                .collect(Collectors.toList())
+            : Collections.emptyList();
+        creations.stream()
+            .filter(topic -> topic.getReplicationFactor() > brokers.size())
+            .forEach(topic -> violations.add("Topic '" + topic.getName() + "': replication factor "
+                + topic.getReplicationFactor() + " exceeds " + brokers.size() + " available brokers"));
+        if (!creations.isEmpty() && !explicitPlacement) {
+            checkRacks(brokers).ifPresent(violations::add);
+        }
+        for (TopicSpec topic : plan.getTopics()) {
+            checkMinInSyncReplicas(topic).ifPresent(violations::add);
+            if (properties.isCheckConfigNames()) {
+                Set<String> unknown = new TreeSet<>(topic.getConfigs().keySet());
+                unknown.removeAll(TOPIC_CONFIG_NAMES);
+                if (!unknown.isEmpty()) {
+                    violations.add("Topic '" + topic.getName() + "': unknown configs " + unknown);
+                }
+            }
+        }
+        if (violations.isEmpty()) {
+            log.debug("Preflight of {} managed topics against {} brokers passed", plan.getTopics().size(),
+                brokers.size());
+        }
+        return violations;
+    }
+
+    private static Optional<String> checkRacks(Collection<Node> brokers) {
+        List<Integer> withoutRack = brokers.stream()
+            .filter(node -> !node.hasRack())
+            .map(Node::id)
+            .sorted()
+            .collect(Collectors.toList());
+        if (withoutRack.isEmpty() || withoutRack.size() == brokers.size()) {
+            return Optional.empty();
+        }
+        return Optional.of("Brokers " + withoutRack + " have no rack while other brokers have one, "
+            + "rack-aware replica assignment of new topics is rejected by the cluster");
+    }
+
+    private static Optional<String> checkMinInSyncReplicas(TopicSpec topic) {
+        String minInSyncReplicas = topic.getConfigs().get(TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG);
+        if (minInSyncReplicas == null) {
+            return Optional.empty();
+        }
+        try {
+            int value = Integer.parseInt(minInSyncReplicas.trim());
+            if (value > topic.getReplicationFactor()) {
+                return Optional.of("Topic '" + topic.getName() + "': "
+                    + TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG + " " + value + " exceeds replication factor "
+                    + topic.getReplicationFactor());
+            }
+            return Optional.empty();
+        } catch (NumberFormatException exception) {
+            return Optional.of("Topic '" + topic.getName() + "': "
+                + TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG + " '" + minInSyncReplicas + "' is not a number");
+        }
+    }
+
+    private static Set<String> getTopicConfigNames() {
+        Set<String> names = new HashSet<>(Arrays.asList(
+            "leader.replication.throttled.replicas", "follower.replication.throttled.replicas"));
+        for (Field field : TopicConfig.class.getFields()) {
+            if (Modifier.isStatic(field.getModifiers()) && field.getType() == String.class
+                && field.getName().endsWith("_CONFIG")) {
+                try {
+                    names.add((String) field.get(null));
+                } catch (IllegalAccessException exception) {
+                    log.trace("Topic config '{}' is not accessible", field.getName(), exception);
+                }
+            }
+        }
+        return Collections.unmodifiableSet(names);
+    }
+}
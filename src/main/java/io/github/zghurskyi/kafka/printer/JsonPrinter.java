@@ -2,31 +2,185 @@ package io.github.zghurskyi.kafka.printer;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.PropertyAccessor;
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.common.config.ConfigResource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
 public final class JsonPrinter {
 
     private static final Logger log = LoggerFactory.getLogger(JsonPrinter.class);
 
-    private JsonPrinter() {
-        throw new UnsupportedOperationException("Instantiation is not supported!");
+    public static final int DEFAULT_MAX_CHARS = 65536;
+    public static final int DEFAULT_MAX_ELEMENTS = 1000;
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+        .setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY)
+        .configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+    private static final ObjectWriter PRETTY_WRITER = OBJECT_MAPPER.writerWithDefaultPrettyPrinter();
+    private static final ObjectWriter COMPACT_WRITER = OBJECT_MAPPER.writer();
+    private static final int SUMMARY_NAMES = 10;
+
+    public static final JsonPrinter DEFAULT = new JsonPrinter(DEFAULT_MAX_CHARS, DEFAULT_MAX_ELEMENTS, false);
+
+    private final int maxChars;
+    private final int maxElements;
+    private final boolean summary;
+
+    public JsonPrinter(int maxChars, int maxElements, boolean summary) {
+        if (maxChars < 1 || maxElements < 1) {
+            throw new IllegalArgumentException("Max chars and max elements must be positive");
+        }
+        this.maxChars = maxChars;
+        this.maxElements = maxElements;
+        this.summary = summary;
+    }
+
+    public <T> String print(T value) {
+        return summary ? summarize(value) : write(PRETTY_WRITER, value);
+    }
+
+    public <T> String summarize(T value) {
+        if (value instanceof Collection) {
+            Collection<?> collection = (Collection<?>) value;
+            return summarize(collection.size(), collection.iterator());
+        }
+        if (value instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) value;
+            return summarize(map.size(), map.keySet().iterator());
+        }
+        return write(COMPACT_WRITER, value);
+    }
+
+    public Object lazy(Object value) {
+        return new Object() {
+            @Override
+            public String toString() {
+                return print(value);
+            }
+        };
     }
 
-    public static <T> String print(T value) {
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY);
-        objectMapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+    private String write(ObjectWriter writer, Object value) {
+        int elementLimit = maxElements;
+        Object limited = limitElements(value, elementLimit);
+        LimitedWriter output = new LimitedWriter(maxChars);
         try {
-            return objectMapper
-                .writerWithDefaultPrettyPrinter()
-                .writeValueAsString(value);
-        } catch (JsonProcessingException e) {
-            log.warn("Failed to pretty-print: " + e.getMessage(), e);
-            return value.toString();
+            writer.writeValue(output, limited);
+        } catch (IOException e) {
+            if (!output.isTruncated()) {
+                log.warn("Failed to pretty-print: " + e.getMessage(), e);
+                return String.valueOf(value);
+            }
+        }
+        StringBuilder result = output.getBuffer();
+        if (output.isTruncated()) {
+            result.append("... (truncated at ").append(output.getLimit()).append(" chars)");
+        }
+        if (limited != value) {
+            result.append("\n... (").append(size(value) - elementLimit).append(" more elements)");
+        }
+        return result.toString();
+    }
+
+    private static Object limitElements(Object value, int elementLimit) {
+        if (value instanceof Collection && ((Collection<?>) value).size() > elementLimit) {
+            return ((Collection<?>) value).stream()
+                .limit(elementLimit)
+                .collect(Collectors.toList());
+        }
+        if (value instanceof Map && ((Map<?, ?>) value).size() > elementLimit) {
+            Map<Object, Object> limited = new LinkedHashMap<>();
+            Iterator<? extends Map.Entry<?, ?>> entries = ((Map<?, ?>) value).entrySet().iterator();
+            while (limited.size() < elementLimit) {
+                Map.Entry<?, ?> entry = entries.next();
+                limited.put(entry.getKey(), entry.getValue());
+            }
+            return limited;
+        }
+        return value;
+    }
+
+    private static int size(Object value) {
+        return value instanceof Collection ? ((Collection<?>) value).size() : ((Map<?, ?>) value).size();
+    }
+
+    private static String summarize(int size, Iterator<?> elements) {
+        List<String> names = new ArrayList<>(SUMMARY_NAMES);
+        while (elements.hasNext() && names.size() < SUMMARY_NAMES) {
+            names.add(nameOf(elements.next()));
+        }
+        StringBuilder result = new StringBuilder().append(size).append(size == 1 ? " element " : " elements ")
+            .append(names);
+        if (size > names.size()) {
+            result.setLength(result.length() - 1);
+            result.append(", ...]");
+        }
+        return result.toString();
+    }
+
+    private static String nameOf(Object element) {
+        if (element instanceof NewTopic) {
+            return ((NewTopic) element).name();
+        }
+        if (element instanceof ConfigResource) {
+            return ((ConfigResource) element).name();
+        }
+        return String.valueOf(element);
+    }
+
+    private static final class LimitedWriter extends Writer {
+
+        private final StringBuilder buffer = new StringBuilder();
+        private final int limit;
+        private boolean truncated;
+
+        LimitedWriter(int limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) throws IOException {
+            int available = limit - buffer.length();
+            if (length > available) {
+                buffer.append(chars, offset, Math.max(available, 0));
+                truncated = true;
+                throw new IOException("Output limit of " + limit + " chars is exceeded");
+            }
+            buffer.append(chars, offset, length);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        StringBuilder getBuffer() {
+            return buffer;
+        }
+
+        int getLimit() {
+            return limit;
+        }
+
+        boolean isTruncated() {
+            return truncated;
         }
     }
 }
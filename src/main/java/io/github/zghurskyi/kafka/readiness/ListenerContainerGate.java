@@ -0,0 +1,128 @@
+package io.github.zghurskyi.kafka.readiness;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.AbstractMessageListenerContainer;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.listener.config.ContainerProperties;
+import org.springframework.kafka.support.TopicPartitionInitialOffset;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class ListenerContainerGate implements SmartLifecycle, ApplicationContextAware {
+
+    private static final Logger log = LoggerFactory.getLogger(ListenerContainerGate.class);
+
+    private static final int PHASE = AbstractMessageListenerContainer.DEFAULT_PHASE - 1;
+
+    private final boolean enabled;
+    private final ProvisionReadiness readiness;
+
+    private ApplicationContext applicationContext;
+    private volatile boolean running;
+
+    public ListenerContainerGate(boolean enabled, ProvisionReadiness readiness) {
+        this.enabled = enabled;
+        this.readiness = readiness;
+    }
+
+    @Override
+    public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    public void start() {
+        this.running = true;
+        if (enabled) {
+            getListenerContainers().forEach(this::gate);
+        }
+    }
+
+    @Override
+    public void stop() {
+        this.running = false;
+    }
+
+    @Override
+    public void stop(Runnable callback) {
+        stop();
+        callback.run();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return this.running;
+    }
+
+    @Override
+    public boolean isAutoStartup() {
+        return true;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private Collection<MessageListenerContainer> getListenerContainers() {
+        Set<MessageListenerContainer> containers =
+            new LinkedHashSet<>(applicationContext.getBeansOfType(MessageListenerContainer.class, false, false).values());
+        applicationContext.getBeansOfType(KafkaListenerEndpointRegistry.class, false, false).values()
+            .forEach(registry -> containers.addAll(registry.getListenerContainers()));
+        return containers;
+    }
+
+    private void gate(MessageListenerContainer container) {
+        if (!container.isAutoStartup() || !(container instanceof AbstractMessageListenerContainer)) {
+            return;
+        }
+        List<String> pendingTopics = getTopics(container.getContainerProperties()).stream()
+            .filter(readiness::isManaged)
+            .filter(topic -> !readiness.isTopicReady(topic))
+            .collect(Collectors.toList());
+        if (pendingTopics.isEmpty()) {
+            return;
+        }
+        ((AbstractMessageListenerContainer<?, ?>) container).setAutoStartup(false);
+        log.info("Delaying start of listener container until topics are provisioned: {}", pendingTopics);
+        startWhenReady(container, pendingTopics);
+    }
+
+    private void startWhenReady(MessageListenerContainer container, List<String> pendingTopics) {
+        readiness.whenReady(pendingTopics).whenComplete((result, throwable) -> {
+            if (throwable != null) {
+                log.error("Listener container for topics {} is not started until a later provisioning run succeeds!",
+                    pendingTopics);
+                readiness.whenRecovered().thenRun(() -> startWhenReady(container, pendingTopics));
+            } else if (this.running) {
+                log.info("Starting listener container for provisioned topics: {}", pendingTopics);
+                container.start();
+            }
+        });
+    }
+
+    private Collection<String> getTopics(ContainerProperties containerProperties) {
+        List<String> topics = new ArrayList<>();
+        if (containerProperties.getTopics() != null) {
+            topics.addAll(Arrays.asList(containerProperties.getTopics()));
+        }
+        if (containerProperties.getTopicPartitions() != null) {
+            Arrays.stream(containerProperties.getTopicPartitions())
+                .map(TopicPartitionInitialOffset::topic)
+                .forEach(topics::add);
+        }
+        return topics;
+    }
+}
@@ -0,0 +1,99 @@
+package io.github.zghurskyi.kafka.readiness;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.kafka.core.ProducerFactory;
+
+import java.lang.reflect.Modifier;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class ProducerGatePostProcessor implements BeanPostProcessor, BeanFactoryAware {
+
+    private static final String CREATE_PRODUCER_METHOD = "createProducer";
+    private static final String SEND_METHOD = "send";
+
+    private final boolean enabled;
+    private final long sendTimeoutMillis;
+    private final MethodInterceptor sendGate = invocation -> {
+        if (SEND_METHOD.equals(invocation.getMethod().getName())) {
+            awaitReady((ProducerRecord<?, ?>) invocation.getArguments()[0]);
+        }
+        return invocation.proceed();
+    };
+
+    private BeanFactory beanFactory;
+    private volatile ProvisionReadiness readiness;
+    private volatile boolean open;
+
+    public ProducerGatePostProcessor(boolean enabled, long sendTimeoutMillis) {
+        this.enabled = enabled;
+        this.sendTimeoutMillis = sendTimeoutMillis;
+    }
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+        this.beanFactory = beanFactory;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (!enabled || !(bean instanceof ProducerFactory)) {
+            return bean;
+        }
+        AtomicReference<GatedProducer> lastProducer = new AtomicReference<>();
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.setProxyTargetClass(!Modifier.isFinal(bean.getClass().getModifiers()));
+        proxyFactory.addAdvice((MethodInterceptor) invocation -> {
+            Object result = invocation.proceed();
+            if (open || !CREATE_PRODUCER_METHOD.equals(invocation.getMethod().getName())
+                || !(result instanceof Producer)) {
+                return result;
+            }
+            GatedProducer gated = lastProducer.get();
+            if (gated == null || gated.target != result) {
+                gated = new GatedProducer(result, gate(result));
+                lastProducer.set(gated);
+            }
+            return gated.proxy;
+        });
+        return proxyFactory.getProxy();
+    }
+
+    private Object gate(Object producer) {
+        ProxyFactory proxyFactory = new ProxyFactory(producer);
+        proxyFactory.addAdvice(sendGate);
+        return proxyFactory.getProxy();
+    }
+
+    private void awaitReady(ProducerRecord<?, ?> record) {
+        if (open) {
+            return;
+        }
+        ProvisionReadiness provisionReadiness = this.readiness;
+        if (provisionReadiness == null) {
+            provisionReadiness = beanFactory.getBean(ProvisionReadiness.class);
+            this.readiness = provisionReadiness;
+        }
+        if (provisionReadiness.isReady()) {
+            open = true;
+            return;
+        }
+        provisionReadiness.awaitReady(record.topic(), sendTimeoutMillis);
+    }
+
+    private static final class GatedProducer {
+        private final Object target;
+        private final Object proxy;
+
+        private GatedProducer(Object target, Object proxy) {
+            this.target = target;
+            this.proxy = proxy;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package io.github.zghurskyi.kafka.readiness;
+
+import io.github.zghurskyi.kafka.TopicProvisionException;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class ProvisionReadiness {
+
+    public enum Status {
+        PENDING, IN_PROGRESS, READY, FAILED, DRY_RUN
+    }
+
+    private final Map<String, AtomicReference<CompletableFuture<Void>>> topics;
+    private final AtomicReference<CompletableFuture<Void>> completion = new AtomicReference<>(new CompletableFuture<>());
+    private final AtomicReference<CompletableFuture<Void>> recovery =
+        new AtomicReference<>(CompletableFuture.completedFuture(null));
+
+    private volatile Status status = Status.PENDING;
+
+    public ProvisionReadiness(Collection<String> managedTopics) {
+        Map<String, AtomicReference<CompletableFuture<Void>>> futures = new LinkedHashMap<>();
+        managedTopics.forEach(topic -> futures.put(topic, new AtomicReference<>(new CompletableFuture<>())));
+        this.topics = Collections.unmodifiableMap(futures);
+    }
+
+    public Status getStatus() {
+        return this.status;
+    }
+
+    public boolean isReady() {
+        return this.status == Status.READY;
+    }
+
+    public Set<String> getManagedTopics() {
+        return this.topics.keySet();
+    }
+
+    public boolean isManaged(String topic) {
+        return this.topics.containsKey(topic);
+    }
+
+    public boolean isTopicReady(String topic) {
+        CompletableFuture<Void> future = whenReady(topic);
+        return future.isDone() && !future.isCompletedExceptionally();
+    }
+
+    public int getReadyTopicCount() {
+        return (int) this.topics.keySet().stream()
+            .filter(this::isTopicReady)
+            .count();
+    }
+
+    public int getManagedTopicCount() {
+        return this.topics.size();
+    }
+
+    public CompletableFuture<Void> whenCompleted() {
+        return this.completion.get();
+    }
+
+    public CompletableFuture<Void> whenRecovered() {
+        return this.recovery.get();
+    }
+
+    public CompletableFuture<Void> whenReady(String topic) {
+        AtomicReference<CompletableFuture<Void>> future = this.topics.get(topic);
+        return future != null ? future.get() : CompletableFuture.completedFuture(null);
+    }
+
+    public CompletableFuture<Void> whenReady(Collection<String> topics) {
+        return CompletableFuture.allOf(topics.stream()
+            .map(this::whenReady)
+            .toArray(CompletableFuture[]::new));
+    }
+
+    public void awaitReady(String topic, long timeoutMillis) {
+        CompletableFuture<Void> future = whenReady(topic);
+        if (future.isDone() && !future.isCompletedExceptionally()) {
+            return;
+        }
+        try {
+            future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new TopicProvisionException("Interrupted while waiting for topic '" + topic + "' to be provisioned!", exception);
+        } catch (ExecutionException exception) {
+            throw new TopicProvisionException("Topic '" + topic + "' was not provisioned! Error: "
+                + exception.getCause().getMessage(), exception.getCause());
+        } catch (TimeoutException exception) {
+            throw new TopicProvisionException("Topic '" + topic + "' was not provisioned within "
+                + timeoutMillis + " ms!", exception);
+        }
+    }
+
+    public void markInProgress() {
+        this.status = Status.IN_PROGRESS;
+    }
+
+    public void markDryRun() {
+        this.status = Status.DRY_RUN;
+    }
+
+    public void markTopicReady(String topic) {
+        AtomicReference<CompletableFuture<Void>> future = this.topics.get(topic);
+        if (future != null) {
+            complete(future);
+        }
+    }
+
+    public void markReady() {
+        this.status = Status.READY;
+        this.topics.values().forEach(ProvisionReadiness::complete);
+        complete(this.completion);
+        this.recovery.get().complete(null);
+    }
+
+    public void markFailed(Throwable throwable) {
+        this.status = Status.FAILED;
+        this.recovery.updateAndGet(future -> future.isDone() ? new CompletableFuture<>() : future);
+        this.topics.values().forEach(future -> future.get().completeExceptionally(throwable));
+        this.completion.get().completeExceptionally(throwable);
+    }
+
+    private static void complete(AtomicReference<CompletableFuture<Void>> reference) {
+        reference.updateAndGet(future -> future.isCompletedExceptionally()
+            ? CompletableFuture.completedFuture(null)
+            : future).complete(null);
+    }
+}
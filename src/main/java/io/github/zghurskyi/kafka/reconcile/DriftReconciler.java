@@ -0,0 +1,161 @@
+package io.github.zghurskyi.kafka.reconcile;
+
+import io.github.zghurskyi.kafka.ProvisionProperties;
+import io.github.zghurskyi.kafka.TopicProvisioner;
+import io.github.zghurskyi.kafka.client.AdminBatching;
+import io.github.zghurskyi.kafka.client.AdminClientFactory;
+import io.github.zghurskyi.kafka.client.AdminClientOperations;
+import io.github.zghurskyi.kafka.client.ProvisionDeadline;
+import io.github.zghurskyi.kafka.metadata.TopicMetadata;
+import io.github.zghurskyi.kafka.metadata.TopicMetadataCache;
+import io.github.zghurskyi.kafka.plan.ChangeSet;
+import io.github.zghurskyi.kafka.plan.PlanDiff;
+import io.github.zghurskyi.kafka.plan.ProvisionPlan;
+import io.github.zghurskyi.kafka.plan.TopicSpec;
+import io.github.zghurskyi.kafka.readiness.ProvisionReadiness;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.Config;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.config.ConfigResource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class DriftReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(DriftReconciler.class);
+
+    private static final String RECONCILER_THREAD_PREFIX = "kafka-provision-reconciler-";
+    private static final int DETECTION_DEPTH = 2;
+
+    private final ProvisionProperties.ProvisionReconcileProperties properties;
+    private final TopicProvisioner provisioner;
+    private final ProvisionReadiness readiness;
+    private final AdminClientFactory adminClientFactory;
+    private final AdminBatching batching;
+
+    private ScheduledExecutorService executor;
+    private volatile long intervalMillis;
+
+    public DriftReconciler(ProvisionProperties.ProvisionReconcileProperties properties,
+                           TopicProvisioner provisioner, ProvisionReadiness readiness,
+                           AdminClientFactory adminClientFactory, AdminBatching batching) {
+        this.properties = properties;
+        this.provisioner = provisioner;
+        this.readiness = readiness;
+        this.adminClientFactory = adminClientFactory;
+        this.batching = batching;
+        this.intervalMillis = properties.getMinIntervalMillis();
+    }
+
+    @PostConstruct
+    public void start() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(RECONCILER_THREAD_PREFIX);
+        threadFactory.setDaemon(true);
+        executor = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        scheduleNext();
+        log.info("Drift reconciliation of managed topics scheduled every {} ms", intervalMillis);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    public long getIntervalMillis() {
+        return intervalMillis;
+    }
+
+    public boolean reconcile() {
+        if (!readiness.isReady()) {
+            log.debug("Initial provisioning is not finished, drift reconciliation is skipped");
+            return false;
+        }
+        AdminClient client = adminClientFactory.getAdminClient();
+        ProvisionPlan plan = provisioner.getPlan();
+        TopicMetadataCache metadataCache = provisioner.getMetadataCache();
+        Set<String> topicsOnBroker = AdminClientOperations.await(AdminClientOperations.listTopicsAsync(client));
+        if (!isDriftSuspected(plan, topicsOnBroker, metadataCache)) {
+            return backOff();
+        }
+        ChangeSet drift = resolve(client, plan, topicsOnBroker, metadataCache);
+        if (drift.isEmpty()) {
+            return backOff();
+        }
+        log.warn("Drift of managed topics detected: {}", batching.getPrinter().lazy(drift));
+        provisioner.reconcileTopics(client, plan, drift);
+        intervalMillis = properties.getMinIntervalMillis();
+        return true;
+    }
+
+    private boolean backOff() {
+        intervalMillis = Math.min(properties.getMaxIntervalMillis(),
+            (long) (intervalMillis * properties.getMultiplier()));
+        log.debug("No drift of managed topics detected, next check in {} ms", intervalMillis);
+        return false;
+    }
+
+    private ChangeSet resolve(AdminClient client, ProvisionPlan plan, Set<String> topicsOnBroker,
+                              TopicMetadataCache metadataCache) {
+        CompletableFuture<Map<String, TopicDescription>> descriptions =
+            PlanDiff.describeExistingTopics(client, plan, topicsOnBroker, batching, ProvisionDeadline.NONE);
+        CompletableFuture<Map<ConfigResource, Config>> configs =
+            PlanDiff.describeExistingConfigs(client, plan, topicsOnBroker, batching, ProvisionDeadline.NONE);
+        AdminClientOperations.await(CompletableFuture.allOf(descriptions, configs),
+            DETECTION_DEPTH * batching.getRounds(plan.getTopics().size()));
+        metadataCache.populate(descriptions.join(), configs.join());
+        return new ChangeSet(PlanDiff.getTopicCreations(plan, topicsOnBroker),
+            PlanDiff.getPartitionIncreases(plan, descriptions.join()), PlanDiff.getConfigChanges(plan, configs.join()));
+    }
+
+    private static boolean isDriftSuspected(ProvisionPlan plan, Set<String> topicsOnBroker,
+                                            TopicMetadataCache metadataCache) {
+        for (TopicSpec topic : plan.getTopics()) {
+            if (!topicsOnBroker.contains(topic.getName())) {
+                if (plan.isAutoCreateTopics()) {
+                    return true;
+                }
+                continue;
+            }
+            TopicMetadata metadata = metadataCache.getIfPresent(topic.getName());
+            if (metadata == null || metadata.getPartitionCount() < topic.getNumPartitions()
+                || topic.getConfigs().entrySet().stream()
+                    .anyMatch(config -> !Objects.equals(config.getValue(), metadata.getConfig(config.getKey())))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void reconcileAndReschedule() {
+        try {
+            reconcile();
+        } catch (Exception exception) {
+            log.warn("Drift reconciliation failed, retrying in {} ms. Error: {}", intervalMillis,
+                exception.getMessage());
+        } finally {
+            scheduleNext();
+        }
+    }
+
+    private void scheduleNext() {
+        try {
+            executor.schedule(this::reconcileAndReschedule, intervalMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException exception) {
+            log.debug("Drift reconciler is stopped");
+        }
+    }
+}
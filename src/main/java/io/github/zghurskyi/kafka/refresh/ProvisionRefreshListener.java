@@ -0,0 +1,45 @@
+package io.github.zghurskyi.kafka.refresh;
+
+import io.github.zghurskyi.kafka.ProvisionProperties;
+import io.github.zghurskyi.kafka.TopicProvisioner;
+import io.github.zghurskyi.kafka.plan.ProvisionPlan;
+import io.github.zghurskyi.kafka.plan.TopicTemplateExpander;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.env.Environment;
+
+public class ProvisionRefreshListener implements ApplicationListener<EnvironmentChangeEvent> {
+
+    private static final Logger log = LoggerFactory.getLogger(ProvisionRefreshListener.class);
+
+    private static final String KAFKA_PROVISION_PREFIX = "kafka.provision";
+
+    private final Environment environment;
+    private final TopicProvisioner provisioner;
+    private final TopicTemplateExpander templateExpander;
+
+    public ProvisionRefreshListener(Environment environment, TopicProvisioner provisioner,
+                                    TopicTemplateExpander templateExpander) {
+        this.environment = environment;
+        this.provisioner = provisioner;
+        this.templateExpander = templateExpander;
+    }
+
+    @Override
+    public void onApplicationEvent(EnvironmentChangeEvent event) {
+        if (event.getKeys().stream().noneMatch(key -> key.startsWith(KAFKA_PROVISION_PREFIX))) {
+            return;
+        }
+        ProvisionProperties properties = Binder.get(environment)
+            .bind(KAFKA_PROVISION_PREFIX, ProvisionProperties.class)
+            .orElseGet(ProvisionProperties::new);
+        try {
+            provisioner.refresh(ProvisionPlan.compile(properties, templateExpander));
+        } catch (RuntimeException exception) {
+            log.error("Failed to provision refreshed topic configuration! Error: {}", exception.getMessage(), exception);
+        }
+    }
+}
@@ -1,8 +1,29 @@
 package io.github.zghurskyi.kafka;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.zghurskyi.kafka.actuate.ProvisionEndpoint;
+import io.github.zghurskyi.kafka.client.AdminBatching;
+import io.github.zghurskyi.kafka.client.AdminClientFactory;
+import io.github.zghurskyi.kafka.metadata.TopicMetadataCache;
+import io.github.zghurskyi.kafka.metrics.ProvisionRunRecorder;
+import io.github.zghurskyi.kafka.plan.ChangeSet;
+import io.github.zghurskyi.kafka.plan.ProvisionDryRun;
+import io.github.zghurskyi.kafka.plan.ProvisionReport;
+import io.github.zghurskyi.kafka.plan.TopicCreation;
+import io.github.zghurskyi.kafka.plan.TopicParameterSupplier;
+import io.github.zghurskyi.kafka.readiness.ProvisionReadiness;
+import io.github.zghurskyi.kafka.reconcile.DriftReconciler;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.kafka.clients.admin.AdminClient;
 import org.apache.kafka.clients.admin.Config;
+import org.apache.kafka.clients.admin.ConfigEntry;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.config.ConfigResource;
+import org.apache.kafka.common.serialization.StringSerializer;
 import org.junit.ClassRule;
 import org.junit.Rule;
 import org.junit.Test;
@@ -10,13 +31,35 @@ import org.junit.rules.ExpectedException;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.beans.factory.UnsatisfiedDependencyException;
 import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.rule.OutputCapture;
+import org.springframework.boot.test.util.TestPropertyValues;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
 import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.test.rule.KafkaEmbedded;
 import org.springframework.test.annotation.DirtiesContext;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.hamcrest.CoreMatchers.containsString;
 
 @DirtiesContext
@@ -218,6 +261,586 @@ public class TopicProvisionAutoConfigurationTest {
         assertThat(updatedConfig.get("cleanup.policy").value()).isEqualTo("delete");
     }
 
+    @Test
+    public void configurationOfUnmanagedTopicIsNotUpdated() throws Exception {
+        AdminClient adminClient = TestAdminClientUtil.createAdminClient(EMBEDDED_KAFKA.getBrokersAsString());
+        adminClient.createTopics(Collections.singleton(new NewTopic("unmanaged", 1, (short) 1)
+            .configs(Collections.singletonMap("cleanup.policy", "compact")))).all().get();
+
+        this.context = TestContextLoader.load(EmptyConfiguration.class,
+            "kafka.provision.brokers: ${spring.embedded.kafka.brokers}",
+            "kafka.provision.topics[0].name: managed",
+            "kafka.provision.topics[0].numPartitions: 1",
+            "kafka.provision.topics[0].replicationFactor: 1",
+            "kafka.provision.topics[0].configs.cleanup.policy: delete");
+
+        this.context.getBean(TopicProvisioner.class);
+
+        Config unmanagedConfig = TestAdminClientUtil.getTopicConfig(adminClient, "unmanaged");
+        assertThat(unmanagedConfig.get("cleanup.policy").value()).isEqualTo("compact");
+    }
+
+    @Test
+    public void unmanagedConfigOverridesOfManagedTopicArePreserved() throws Exception {
+        AdminClient adminClient = TestAdminClientUtil.createAdminClient(EMBEDDED_KAFKA.getBrokersAsString());
+        adminClient.createTopics(Collections.singleton(new NewTopic("partially_managed", 1, (short) 1)
+            .configs(Collections.singletonMap("retention.ms", "5000")))).all().get();
+
+        this.context = TestContextLoader.load(EmptyConfiguration.class,
+            "kafka.provision.brokers: ${spring.embedded.kafka.brokers}",
+            "kafka.provision.topics[0].name: partially_managed",
+            "kafka.provision.topics[0].numPartitions: 1",
+            "kafka.provision.topics[0].replicationFactor: 1",
+            "kafka.provision.topics[0].configs.cleanup.policy: compact");
+
+        this.context.getBean(TopicProvisioner.class);
+
+        Config updatedConfig = TestAdminClientUtil.getTopicConfig(adminClient, "partially_managed");
+        assertThat(updatedConfig.get("cleanup.policy").value()).isEqualTo("compact");
+        assertThat(updatedConfig.get("retention.ms").value()).isEqualTo("5000");
+    }
+
+    @Test
+    public void changesAreNotAppliedIfDryRunEnabled() throws Exception {
+        this.context = TestContextLoader.load(EmptyConfiguration.class,
+            "kafka.provision.brokers: ${spring.embedded.kafka.brokers}",
+            "kafka.provision.dryRun: true",
+            "kafka.provision.topics[0].name: dry_run",
+            "kafka.provision.topics[0].numPartitions: 2",
+            "kafka.provision.topics[0].replicationFactor: 1");
+
+        AdminClient adminClient = TestAdminClientUtil.createAdminClient(EMBEDDED_KAFKA.getBrokersAsString());
+        ChangeSet changeSet = this.context.getBean(ProvisionDryRun.class).getChangeSet();
+
+        assertThat(adminClient.listTopics().names().get()).doesNotContain("dry_run");
+        assertThat(changeSet.getTopicCreations()).extracting(TopicCreation::getTopicName).containsExactly("dry_run");
+
+        ProvisionReadiness readiness = this.context.getBean(ProvisionReadiness.class);
+        assertThat(readiness.getStatus()).isEqualTo(ProvisionReadiness.Status.DRY_RUN);
+        assertThat(readiness.isTopicReady("dry_run")).isFalse();
+    }
+
+    @Test
+    public void provisioningIsSkippedIfDesiredStateIsAlreadyApplied() throws Exception {
+        String[] environment = {
+            "kafka.provision.brokers: ${spring.embedded.kafka.brokers}",
+            "kafka.provision.ledger.enabled: true",
+            "kafka.provision.ledger.key: ledger-test",
+            "kafka.provision.topics[0].name: ledger_topic",
+            "kafka.provision.topics[0].numPartitions: 1",
+            "kafka.provision.topics[0].replicationFactor: 1",
+            "kafka.provision.topics[0].configs.cleanup.policy: compact"};
+        this.context = TestContextLoader.load(EmptyConfiguration.class, environment);
+
+        AdminClient adminClient = TestAdminClientUtil.createAdminClient(EMBEDDED_KAFKA.getBrokersAsString());
+        ConfigResource topic = new ConfigResource(ConfigResource.Type.TOPIC, "ledger_topic");
+        adminClient.alterConfigs(Collections.singletonMap(topic, new Config(Collections.singleton(
+            new ConfigEntry("cleanup.policy", "delete"))))).all().get();
+
+        this.context.close();
+        this.context = TestContextLoader.load(EmptyConfiguration.class, environment);
+
+        assertThat(TestAdminClientUtil.getTopicConfig(adminClient, "ledger_topic").get("cleanup.policy").value())
+            .isEqualTo("delete");
+
+        this.context.close();
+        this.context = TestContextLoader.load(EmptyConfiguration.class,
+            ArrayUtils.add(environment, "kafka.provision.ledger.forceRefresh: true"));
+
+        assertThat(TestAdminClientUtil.getTopicConfig(adminClient, "ledger_topic").get("cleanup.policy").value())
+            .isEqualTo("compact");
+    }
+
+    @Test
+    public void concurrentInstancesProvisionTopicsOnce() throws Exception {
+        String[] environment = {
+            "kafka.provision.brokers: ${spring.embedded.kafka.brokers}",
+            "kafka.provision.coordination.enabled: true",
+            "kafka.provision.coordination.checkIntervalMillis: 100",
+            "kafka.provision.ledger.key: coordination-test",
+            "kafka.provision.topics[0].name: coordinated_topic",
+            "kafka.provision.topics[0].numPartitions: 2",
+            "kafka.provision.topics[0].replicationFactor: 1"};
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<ConfigurableApplicationContext> first =
+                executor.submit(() -> TestContextLoader.load(EmptyConfiguration.class, environment));
+            Future<ConfigurableApplicationContext> second =
+                executor.submit(() -> TestContextLoader.load(EmptyConfiguration.class, environment));
+            this.context = first.get(2, TimeUnit.MINUTES);
+            second.get(2, TimeUnit.MINUTES).close();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        AdminClient adminClient = TestAdminClientUtil.createAdminClient(EMBEDDED_KAFKA.getBrokersAsString());
+
+        assertThat(adminClient.listTopics().names().get())
+            .contains("coordinated_topic", "kafka-provision-lock", "kafka-provision-ledger");
+        assertThat(TestAdminClientUtil.getPartitionsCount(adminClient, "coordinated_topic")).isEqualTo(2);
+        assertThat(StringUtils.countMatches(this.output.toString(),
+            "Acquired provisioning lease of group 'kafka-provision-coordination-test'")).isEqualTo(1);
+    }
+
+    @Test
+    public void topicsAreProvisionedInBatches() throws Exception {
+        List<String> environment = new ArrayList<>(Arrays.asList(
+            "kafka.provision.brokers: ${spring.embedded.kafka.brokers}",
+            "kafka.provision.batch.size: 2",
+            "kafka.provision.batch.maxInFlight: 2"));
+        for (int index = 0; index < 5; index++) {
+            environment.add("kafka.provision.topics[" + index + "].name: batched_topic_" + index);
+            environment.add("kafka.provision.topics[" + index + "].numPartitions: 2");
+            environment.add("kafka.provision.topics[" + index + "].replicationFactor: 1");
+        }
+        this.context = TestContextLoader.load(EmptyConfiguration.class, environment.toArray(new String[0]));
+        this.context.close();
+
+        for (int index = 0; index < 5; index++) {
+            environment.add("kafka.provision.topics[" + index + "].configs.retention.ms: 3000");
+        }
+        this.context = TestContextLoader.load(EmptyConfiguration.class, environment.toArray(new String[0]));
+
+        AdminClient adminClient = TestAdminClientUtil.createAdminClient(EMBEDDED_KAFKA.getBrokersAsString());
+
+        for (int index = 0; index < 5; index++) {
+            String topic = "batched_topic_" + index;
+            assertThat(TestAdminClientUtil.getPartitionsCount(adminClient, topic)).isEqualTo(2);
+            assertThat(TestAdminClientUtil.getTopicConfig(adminClient, topic).get("retention.ms").value())
+                .isEqualTo("3000");
+        }
+    }
+
+    @Test
+    public void onlyFailedTopicsAreRetried() throws Exception {
+        assertThatThrownBy(() -> TestContextLoader.load(EmptyConfiguration.class,
+            "kafka.provision.brokers: ${spring.embedded.kafka.brokers}",
+            "kafka.provision.topics[0].name: healthy_topic",
+            "kafka.provision.topics[0].numPartitions: 1",
+            "kafka.provision.topics[0].replicationFactor: 1",
+            "kafka.provision.topics[1].name: broken_topic",
+            "kafka.provision.topics[1].numPartitions: 1",
+            "kafka.provision.topics[1].replicationFactor: 1",
+            "kafka.provision.topics[1].configs.cleanup.policy: unknown"))
+            .hasStackTraceContaining("Failed to provision topics: [broken_topic]");
+
+        AdminClient adminClient = TestAdminClientUtil.createAdminClient(EMBEDDED_KAFKA.getBrokersAsString());
+
+        assertThat(adminClient.listTopics().names().get()).contains("healthy_topic").doesNotContain("broken_topic");
+        assertThat(StringUtils.countMatches(this.output.toString(),
+            "Retrying provisioning of failed topics: [broken_topic]")).isEqualTo(2);
+        assertThat(StringUtils.countMatches(this.output.toString(), "About to create topics")).isEqualTo(3);
+        assertThat(this.output.toString()).contains("\"outcome\" : \"FAILED\"", "\"outcome\" : \"CREATED\"");
+    }
+
+    @Test
+    public void provisioningIsMeasuredIfMeterRegistryIsPresent() throws Exception {
+        this.context = TestContextLoader.load(MetricsConfiguration.class,
+            "kafka.provision.brokers: ${spring.embedded.kafka.brokers}",
+            "kafka.provision.topics[0].name: metered_topic",
+            "kafka.provision.topics[0].numPartitions: 1",
+            "kafka.provision.topics[0].replicationFactor: 1");
+
+        MeterRegistry registry = this.context.getBean(MeterRegistry.class);
+
+        assertThat(registry.get("kafka.provision.phase").tag("phase", "provision").timer().count()).isEqualTo(1);
+        assertThat(registry.get("kafka.provision.admin.call").tag("operation", "createTopics").timer().count())
+            .isEqualTo(1);
+        assertThat(registry.get("kafka.provision.topics").tag("change", "created").counter().count()).isEqualTo(1);
+        assertThat(registry.get("kafka.provision.retries").counter().count()).isEqualTo(0);
+        assertThat(registry.get("kafka.provision.last.run.duration").timeGauge().value(TimeUnit.NANOSECONDS))
+            .isGreaterThan(0);
+    }
+
+    @Test
+    public void configDriftIsReconciled() throws Exception {
+        this.context = TestContextLoader.load(EmptyConfiguration.class,
+            "kafka.provision.brokers: ${spring.embedded.kafka.brokers}",
+            "kafka.provision.reconcile.enabled: true",
+            "kafka.provision.reconcile.minIntervalMillis: 60000",
+            "kafka.provision.reconcile.maxIntervalMillis: 600000",
+            "kafka.provision.topics[0].name: reconciled_topic",
+            "kafka.provision.topics[0].numPartitions: 1",
+            "kafka.provision.topics[0].replicationFactor: 1",
+            "kafka.provision.topics[0].configs.retention.ms: 5000");
+
+        AdminClient adminClient = TestAdminClientUtil.createAdminClient(EMBEDDED_KAFKA.getBrokersAsString());
+        DriftReconciler reconciler = this.context.getBean(DriftReconciler.class);
+
+        assertThat(reconciler.reconcile()).isFalse();
+        assertThat(reconciler.getIntervalMillis()).isEqualTo(120000);
+
+        ConfigResource topic = new ConfigResource(ConfigResource.Type.TOPIC, "reconciled_topic");
+        adminClient.alterConfigs(Collections.singletonMap(topic, new Config(Collections.singleton(
+            new ConfigEntry("retention.ms", "7000"))))).all().get();
+
+        assertThat(reconciler.reconcile()).isFalse();
+
+        this.context.getBean(TopicProvisioner.class).getMetadataCache().invalidateAll();
+
+        assertThat(reconciler.reconcile()).isTrue();
+        assertThat(reconciler.getIntervalMillis()).isEqualTo(60000);
+        assertThat(TestAdminClientUtil.getTopicConfig(adminClient, "reconciled_topic").get("retention.ms").value())
+            .isEqualTo("5000");
+        assertThat(this.context.getBean(TopicProvisioner.class).getLastRun().getAdminCalls())
+            .extracting(ProvisionRunRecorder.ProvisionRun.Timing::getName)
+            .contains("alterConfigs")
+            .doesNotContain("describeTopics", "describeConfigs");
+    }
+
+    @Test
+    public void changedTopicsAreProvisionedOnEnvironmentChange() throws Exception {
+        this.context = TestContextLoader.load(EmptyConfiguration.class,
+            "kafka.provision.brokers: ${spring.embedded.kafka.brokers}",
+            "kafka.provision.topics[0].name: refreshed_topic",
+            "kafka.provision.topics[0].numPartitions: 1",
+            "kafka.provision.topics[0].replicationFactor: 1",
+            "kafka.provision.topics[1].name: unchanged_topic",
+            "kafka.provision.topics[1].numPartitions: 1",
+            "kafka.provision.topics[1].replicationFactor: 1");
+
+        TestPropertyValues.of(
+            "kafka.provision.topics[0].numPartitions: 3",
+            "kafka.provision.topics[2].name: added_topic",
+            "kafka.provision.topics[2].numPartitions: 2",
+            "kafka.provision.topics[2].replicationFactor: 1").applyTo(this.context);
+        this.context.publishEvent(new EnvironmentChangeEvent(this.context, new HashSet<>(Arrays.asList(
+            "kafka.provision.topics[0].numPartitions",
+            "kafka.provision.topics[2].name",
+            "kafka.provision.topics[2].numPartitions",
+            "kafka.provision.topics[2].replicationFactor"))));
+
+        AdminClient adminClient = TestAdminClientUtil.createAdminClient(EMBEDDED_KAFKA.getBrokersAsString());
+        assertThat(TestAdminClientUtil.getPartitionsCount(adminClient, "refreshed_topic")).isEqualTo(3);
+        assertThat(TestAdminClientUtil.getPartitionsCount(adminClient, "added_topic")).isEqualTo(2);
+        ProvisionReport report = this.context.getBean(TopicProvisioner.class).getLastReport();
+        assertThat(report.getTopics()).containsOnlyKeys("refreshed_topic", "added_topic");
+        assertThat(report.getTopics().get("refreshed_topic").getOutcome()).isEqualTo(ProvisionReport.Outcome.UPDATED);
+        assertThat(report.getTopics().get("added_topic").getOutcome()).isEqualTo(ProvisionReport.Outcome.CREATED);
+    }
+
+    @Test
+    public void wholePlanIsProvisionedOnRefreshAfterFailedRun() throws Exception {
+        this.context = TestContextLoader.load(EmptyConfiguration.class,
+            "kafka.provision.brokers: ${spring.embedded.kafka.brokers}",
+            "kafka.provision.async.enabled: true",
+            "kafka.provision.topics[0].name: unrefreshed_topic",
+            "kafka.provision.topics[0].numPartitions: 1",
+            "kafka.provision.topics[0].replicationFactor: 1",
+            "kafka.provision.topics[1].name: misplaced_topic",
+            "kafka.provision.topics[1].numPartitions: 1",
+            "kafka.provision.topics[1].replicationFactor: 2");
+
+        ProvisionReadiness readiness = this.context.getBean(ProvisionReadiness.class);
+        assertThatThrownBy(() -> readiness.whenCompleted().get(30, TimeUnit.SECONDS))
+            .hasCauseInstanceOf(ProvisionPreflightException.class);
+
+        TestPropertyValues.of("kafka.provision.topics[1].replicationFactor: 1").applyTo(this.context);
+        this.context.publishEvent(new EnvironmentChangeEvent(this.context,
+            Collections.singleton("kafka.provision.topics[1].replicationFactor")));
+
+        AdminClient adminClient = TestAdminClientUtil.createAdminClient(EMBEDDED_KAFKA.getBrokersAsString());
+        assertThat(adminClient.listTopics().names().get()).contains("unrefreshed_topic", "misplaced_topic");
+        assertThat(this.context.getBean(TopicProvisioner.class).getLastReport().getTopics())
+            .containsOnlyKeys("unrefreshed_topic", "misplaced_topic");
+        assertThat(readiness.getStatus()).isEqualTo(ProvisionReadiness.Status.READY);
+    }
+
+    @Test
+    public void templatedTopicsAreCreated() throws Exception {
+        this.context = TestContextLoader.load(TemplateConfiguration.class,
+            "kafka.provision.brokers: ${spring.embedded.kafka.brokers}",
+            "kafka.provision.batch.size: 2",
+            "kafka.provision.templates[0].name: tenant.{tenant}.shard-{shard}",
+            "kafka.provision.templates[0].numPartitions: 2",
+            "kafka.provision.templates[0].replicationFactor: 1",
+            "kafka.provision.templates[0].parameters.tenant.supplier: tenants",
+            "kafka.provision.templates[0].parameters.shard.from: 0",
+            "kafka.provision.templates[0].parameters.shard.to: 1");
+
+        AdminClient adminClient = TestAdminClientUtil.createAdminClient(EMBEDDED_KAFKA.getBrokersAsString());
+        for (String topic : Arrays.asList("tenant.acme.shard-0", "tenant.acme.shard-1",
+            "tenant.globex.shard-0", "tenant.globex.shard-1")) {
+            assertThat(TestAdminClientUtil.getPartitionsCount(adminClient, topic)).isEqualTo(2);
+        }
+    }
+
+    @Test
+    public void adminClientIsReusedAfterProvisioningAndConfigurable() throws Exception {
+        this.context = TestContextLoader.load(EmptyConfiguration.class,
+            "kafka.provision.brokers: ${spring.embedded.kafka.brokers}",
+            "kafka.provision.admin.properties.request.timeout.ms: 15000",
+            "kafka.provision.admin.properties.metadata.max.age.ms: 60000",
+            "kafka.provision.topics[0].name: reused_client_topic",
+            "kafka.provision.topics[0].numPartitions: 1",
+            "kafka.provision.topics[0].replicationFactor: 1");
+
+        AdminClientFactory clientFactory = this.context.getBean(AdminClientFactory.class);
+
+        assertThat(clientFactory.getConfigs())
+            .containsEntry("request.timeout.ms", "15000")
+            .containsEntry("metadata.max.age.ms", "60000")
+            .containsEntry("client.id", "provisioning-admin-client")
+            .containsEntry("bootstrap.servers", EMBEDDED_KAFKA.getBrokersAsString());
+        assertThat(clientFactory.getAdminClient().listTopics().names().get(10, TimeUnit.SECONDS))
+            .contains("reused_client_topic");
+    }
+
+    @Test
+    public void adminClientInheritsSpringKafkaSettings() {
+        this.context = TestContextLoader.load(SpringKafkaConfiguration.class,
+            "spring.kafka.properties.connections.max.idle.ms: 120000",
+            "spring.kafka.admin.properties.retries: 7",
+            "kafka.provision.brokers: ${spring.embedded.kafka.brokers}",
+            "kafka.provision.admin.inherit-spring-kafka: true",
+            "kafka.provision.admin.properties.retries: 3");
+
+        assertThat(this.context.getBean(AdminClientFactory.class).getConfigs())
+            .containsEntry("connections.max.idle.ms", "120000")
+            .containsEntry("retries", "3")
+            .containsEntry("bootstrap.servers", EMBEDDED_KAFKA.getBrokersAsString());
+    }
+
+    @Test
+    public void provisioningFailsFastOnceDeadlineIsExceeded() {
+        long startMillis = System.currentTimeMillis();
+
+        assertThatThrownBy(() -> TestContextLoader.load(EmptyConfiguration.class,
+            "kafka.provision.brokers: localhost:1",
+            "kafka.provision.deadline.budgetMillis: 1500",
+            "kafka.provision.deadline.operationTimeoutMillis: 500",
+            "kafka.provision.provisionRetry.maxAttempts: 10",
+            "kafka.provision.topics[0].name: unreachable_topic",
+            "kafka.provision.topics[0].numPartitions: 1",
+            "kafka.provision.topics[0].replicationFactor: 1"))
+            .hasStackTraceContaining("Provisioning deadline of 1500 ms is exceeded");
+        assertThat(System.currentTimeMillis() - startMillis).isLessThan(10000);
+    }
+
+    @Test
+    public void provisioningContinuesDegradedOnceDeadlineIsExceeded() {
+        this.context = TestContextLoader.load(EmptyConfiguration.class,
+            "kafka.provision.brokers: localhost:1",
+            "kafka.provision.deadline.budgetMillis: 1500",
+            "kafka.provision.deadline.operationTimeoutMillis: 500",
+            "kafka.provision.provisionRetry.maxAttempts: 10",
+            "kafka.provision.deadline.onExpiry: continue-degraded",
+            "kafka.provision.topics[0].name: unreachable_topic",
+            "kafka.provision.topics[0].numPartitions: 1",
+            "kafka.provision.topics[0].replicationFactor: 1");
+
+        ProvisionReadiness readiness = this.context.getBean(ProvisionReadiness.class);
+
+        assertThat(readiness.getStatus()).isEqualTo(ProvisionReadiness.Status.FAILED);
+        assertThat(readiness.isTopicReady("unreachable_topic")).isFalse();
+        assertThat(output.toString()).contains("Provisioning deadline of 1500 ms is exceeded");
+    }
+
+    @Test
+    public void topicsAreCreatedWithExplicitReplicaPlacement() throws Exception {
+        this.context = TestContextLoader.load(EmptyConfiguration.class,
+            "kafka.provision.brokers: ${spring.embedded.kafka.brokers}",
+            "kafka.provision.placement.enabled: true",
+            "kafka.provision.topics[0].name: placed_topic",
+            "kafka.provision.topics[0].numPartitions: 3",
+            "kafka.provision.topics[0].replicationFactor: 1",
+            "kafka.provision.topics[1].name: existing-topic",
+            "kafka.provision.topics[1].numPartitions: 4",
+            "kafka.provision.topics[1].replicationFactor: 1");
+
+        AdminClient adminClient = TestAdminClientUtil.createAdminClient(EMBEDDED_KAFKA.getBrokersAsString());
+        assertThat(TestAdminClientUtil.getPartitionsCount(adminClient, "placed_topic")).isEqualTo(3);
+        assertThat(TestAdminClientUtil.getPartitionsCount(adminClient, EXISTING_TOPIC)).isGreaterThanOrEqualTo(4);
+        assertThat(output.toString()).contains("Replica assignment of topic 'placed_topic'");
+    }
+
+    @Test
+    public void leaderSkewIsReportedAfterPartitionsAreAdded() throws Exception {
+        this.context = TestContextLoader.load(EmptyConfiguration.class,
+            "kafka.provision.brokers: ${spring.embedded.kafka.brokers}",
+            "kafka.provision.leaderSkew.enabled: true",
+            "kafka.provision.topics[0].name: skew_checked_topic",
+            "kafka.provision.topics[0].numPartitions: 2",
+            "kafka.provision.topics[0].replicationFactor: 1");
+
+        AdminClient adminClient = TestAdminClientUtil.createAdminClient(EMBEDDED_KAFKA.getBrokersAsString());
+        assertThat(TestAdminClientUtil.getPartitionsCount(adminClient, "skew_checked_topic")).isEqualTo(2);
+        assertThat(this.context.getBean(TopicProvisioner.class).getLastReport().hasFailures()).isFalse();
+        assertThat(output.toString()).contains("of managed topics is within limit");
+    }
+
+    @Test
+    public void topicsAreCreatedWithinConfiguredRate() throws Exception {
+        this.context = TestContextLoader.load(EmptyConfiguration.class,
+            "kafka.provision.brokers: ${spring.embedded.kafka.brokers}",
+            "kafka.provision.batch.size: 1",
+            "kafka.provision.rateLimit.topicsPerSecond: 1",
+            "kafka.provision.rateLimit.requestsPerSecond: 1",
+            "kafka.provision.topics[0].name: limited_topic_1",
+            "kafka.provision.topics[0].numPartitions: 1",
+            "kafka.provision.topics[0].replicationFactor: 1",
+            "kafka.provision.topics[1].name: limited_topic_2",
+            "kafka.provision.topics[1].numPartitions: 1",
+            "kafka.provision.topics[1].replicationFactor: 1");
+
+        AdminClient adminClient = TestAdminClientUtil.createAdminClient(EMBEDDED_KAFKA.getBrokersAsString());
+        assertThat(TestAdminClientUtil.getPartitionsCount(adminClient, "limited_topic_1")).isEqualTo(1);
+        assertThat(TestAdminClientUtil.getPartitionsCount(adminClient, "limited_topic_2")).isEqualTo(1);
+        assertThat(this.context.getBean(AdminBatching.class).getRateLimiter().isLimited()).isTrue();
+    }
+
+    @Test
+    public void namedClustersAreProvisionedConcurrently() throws Exception {
+        this.context = TestContextLoader.load(MetricsConfiguration.class,
+            "kafka.provision.brokers: ${spring.embedded.kafka.brokers}",
+            "kafka.provision.topics[0].name: regional_topic",
+            "kafka.provision.topics[0].numPartitions: 1",
+            "kafka.provision.topics[0].replicationFactor: 1",
+            "kafka.provision.clusters.aggregate.brokers: ${spring.embedded.kafka.brokers}",
+            "kafka.provision.clusters.aggregate.topics[0].name: aggregate_topic",
+            "kafka.provision.clusters.aggregate.topics[0].numPartitions: 2",
+            "kafka.provision.clusters.aggregate.topics[0].replicationFactor: 1");
+
+        AdminClient adminClient = TestAdminClientUtil.createAdminClient(EMBEDDED_KAFKA.getBrokersAsString());
+        assertThat(TestAdminClientUtil.getPartitionsCount(adminClient, "regional_topic")).isEqualTo(1);
+        assertThat(TestAdminClientUtil.getPartitionsCount(adminClient, "aggregate_topic")).isEqualTo(2);
+
+        MultiClusterProvisioner clusters = this.context.getBean(MultiClusterProvisioner.class);
+        assertThat(clusters.getLastResults()).containsOnlyKeys("default", "aggregate");
+        assertThat(clusters.getLastResults().values()).noneMatch(MultiClusterProvisioner.ClusterResult::isFailed);
+        assertThat(clusters.getProvisioners().get("aggregate").getPlan().getTopicNames())
+            .containsExactly("aggregate_topic");
+        MeterRegistry registry = this.context.getBean(MeterRegistry.class);
+        for (String cluster : Arrays.asList("default", "aggregate")) {
+            assertThat(registry.get("kafka.provision.topics").tags("cluster", cluster, "change", "created")
+                .counter().count()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    public void metadataCacheIsPopulatedByProvisioningAndInvalidatedOnChange() throws Exception {
+        this.context = TestContextLoader.load(EmptyConfiguration.class,
+            "kafka.provision.brokers: ${spring.embedded.kafka.brokers}",
+            "kafka.provision.topics[0].name: existing-topic",
+            "kafka.provision.topics[0].numPartitions: 1",
+            "kafka.provision.topics[0].replicationFactor: 1",
+            "kafka.provision.topics[1].name: cached_topic",
+            "kafka.provision.topics[1].numPartitions: 2",
+            "kafka.provision.topics[1].replicationFactor: 1");
+
+        TopicMetadataCache cache = this.context.getBean(TopicMetadataCache.class);
+        assertThat(cache.getIfPresent(EXISTING_TOPIC)).isNotNull();
+        assertThat(cache.getIfPresent("cached_topic")).isNull();
+        assertThat(cache.getPartitionCount("cached_topic")).isEqualTo(2);
+        assertThat(cache.getIfPresent("cached_topic")).isNotNull();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void endpointExposesLastRunAndReconcilesOnDemand() throws Exception {
+        this.context = TestContextLoader.load(EmptyConfiguration.class,
+            "kafka.provision.brokers: ${spring.embedded.kafka.brokers}",
+            "kafka.provision.topics[0].name: observed_topic",
+            "kafka.provision.topics[0].numPartitions: 1",
+            "kafka.provision.topics[0].replicationFactor: 1",
+            "kafka.provision.topics[0].configs.retention.ms: 3600000");
+
+        ProvisionEndpoint endpoint = this.context.getBean(ProvisionEndpoint.class);
+        Map<String, Object> provisioning = endpoint.provisioning();
+        Map<String, Object> defaultCluster = (Map<String, Object>) provisioning.get("default");
+        ProvisionRunRecorder.ProvisionRun lastRun = (ProvisionRunRecorder.ProvisionRun) defaultCluster.get("lastRun");
+
+        assertThat(provisioning.get("status")).isEqualTo(ProvisionReadiness.Status.READY);
+        assertThat(defaultCluster.get("managedTopics")).isEqualTo(Collections.singleton("observed_topic"));
+        assertThat(lastRun.getCreatedTopics()).isEqualTo(1);
+        assertThat(lastRun.getPhases()).extracting(ProvisionRunRecorder.ProvisionRun.Timing::getName)
+            .contains("provision");
+        assertThat(lastRun.getAdminCalls()).extracting(ProvisionRunRecorder.ProvisionRun.Timing::getName)
+            .contains("listTopics", "createTopics");
+        assertThat(((Map<String, Object>) defaultCluster.get("changeSet")).get("createdTopics"))
+            .isEqualTo(Collections.singletonList("observed_topic"));
+        assertThat(new ObjectMapper().writeValueAsString(provisioning)).contains("\"observed_topic\"")
+            .doesNotContain("3600000");
+
+        Map<String, Object> reconciled = (Map<String, Object>) endpoint.reconcile().get("default");
+        assertThat(((ProvisionReport) reconciled.get("report")).getTopics().get("observed_topic").getOutcome())
+            .isEqualTo(ProvisionReport.Outcome.UNCHANGED);
+        assertThat(((ProvisionRunRecorder.ProvisionRun) reconciled.get("lastRun")).getPhases())
+            .extracting(ProvisionRunRecorder.ProvisionRun.Timing::getName).contains("reconcile");
+    }
+
+    @Test
+    public void endpointIsNotCreatedIfDisabled() throws Exception {
+        this.context = TestContextLoader.load(EmptyConfiguration.class,
+            "kafka.provision.brokers: ${spring.embedded.kafka.brokers}",
+            "management.endpoint.kafkaprovision.enabled: false",
+            "kafka.provision.topics[0].name: unobserved_topic",
+            "kafka.provision.topics[0].numPartitions: 1",
+            "kafka.provision.topics[0].replicationFactor: 1");
+
+        assertThat(this.context.getBeansOfType(ProvisionEndpoint.class)).isEmpty();
+    }
+
+    @Test
+    public void failedClusterDoesNotPreventProvisioningOfOthers() throws Exception {
+        assertThatThrownBy(() -> TestContextLoader.load(EmptyConfiguration.class,
+            "kafka.provision.brokers: ${spring.embedded.kafka.brokers}",
+            "kafka.provision.deadline.budgetMillis: 1500",
+            "kafka.provision.deadline.operationTimeoutMillis: 500",
+            "kafka.provision.provisionRetry.maxAttempts: 10",
+            "kafka.provision.topics[0].name: isolated_topic",
+            "kafka.provision.topics[0].numPartitions: 1",
+            "kafka.provision.topics[0].replicationFactor: 1",
+            "kafka.provision.clusters.unreachable.brokers: localhost:1",
+            "kafka.provision.clusters.unreachable.topics[0].name: unreachable_topic",
+            "kafka.provision.clusters.unreachable.topics[0].numPartitions: 1",
+            "kafka.provision.clusters.unreachable.topics[0].replicationFactor: 1"))
+            .hasStackTraceContaining("Failed to provision clusters: [unreachable]");
+
+        AdminClient adminClient = TestAdminClientUtil.createAdminClient(EMBEDDED_KAFKA.getBrokersAsString());
+        assertThat(TestAdminClientUtil.getPartitionsCount(adminClient, "isolated_topic")).isEqualTo(1);
+    }
+
+    @Test
+    public void preflightFailsFastBeforeAnyMutation() throws Exception {
+        long startNanos = System.nanoTime();
+        assertThatThrownBy(() -> TestContextLoader.load(EmptyConfiguration.class,
+            "kafka.provision.brokers: ${spring.embedded.kafka.brokers}",
+            "kafka.provision.provisionRetry.maxAttempts: 5",
+            "kafka.provision.provisionRetry.initialIntervalMillis: 5000",
+            "kafka.provision.topics[0].name: preflight_topic",
+            "kafka.provision.topics[0].numPartitions: 1",
+            "kafka.provision.topics[0].replicationFactor: 1",
+            "kafka.provision.topics[1].name: over_replicated_topic",
+            "kafka.provision.topics[1].numPartitions: 1",
+            "kafka.provision.topics[1].replicationFactor: 3",
+            "kafka.provision.topics[1].configs.min.insync.replicas: 4"))
+            .hasStackTraceContaining("Preflight found 2 violations of cluster constraints")
+            .hasStackTraceContaining("Topic 'over_replicated_topic': replication factor 3 exceeds 1 available brokers");
+
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos)).isLessThan(5000);
+        AdminClient adminClient = TestAdminClientUtil.createAdminClient(EMBEDDED_KAFKA.getBrokersAsString());
+        assertThat(adminClient.listTopics().names().get()).doesNotContain("preflight_topic");
+    }
+
+    @Test
+    public void nonRetriableFailuresSkipBackoff() throws Exception {
+        long startNanos = System.nanoTime();
+        assertThatThrownBy(() -> TestContextLoader.load(EmptyConfiguration.class,
+            "kafka.provision.brokers: ${spring.embedded.kafka.brokers}",
+            "kafka.provision.preflight.enabled: false",
+            "kafka.provision.provisionRetry.maxAttempts: 5",
+            "kafka.provision.provisionRetry.initialIntervalMillis: 5000",
+            "kafka.provision.topics[0].name: unplaceable_topic",
+            "kafka.provision.topics[0].numPartitions: 1",
+            "kafka.provision.topics[0].replicationFactor: 3"))
+            .hasStackTraceContaining("Failed to provision topics: [unplaceable_topic]")
+            .hasStackTraceContaining("InvalidReplicationFactorException");
+
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos)).isLessThan(5000);
+        assertThat(this.output.toString()).doesNotContain("Retrying provisioning of failed topics");
+    }
+
     @Test
     public void multipleTopicsAreCreatedAndConfigured() throws Exception {
         this.context = TestContextLoader.load(EmptyConfiguration.class,
@@ -260,9 +883,90 @@ public class TopicProvisionAutoConfigurationTest {
             + "}");
     }
 
+    @Test
+    public void topicIsProvisionedInBackgroundIfAsyncEnabled() throws Exception {
+        this.context = TestContextLoader.load(EmptyConfiguration.class,
+            "kafka.provision.brokers: ${spring.embedded.kafka.brokers}",
+            "kafka.provision.async.enabled: true",
+            "kafka.provision.topics[0].name: async_topic",
+            "kafka.provision.topics[0].numPartitions: 2",
+            "kafka.provision.topics[0].replicationFactor: 1");
+
+        AdminClient adminClient = TestAdminClientUtil.createAdminClient(EMBEDDED_KAFKA.getBrokersAsString());
+        ProvisionReadiness readiness = this.context.getBean(ProvisionReadiness.class);
+
+        readiness.whenReady("async_topic").get(30, TimeUnit.SECONDS);
+
+        assertThat(readiness.getStatus()).isEqualTo(ProvisionReadiness.Status.READY);
+        assertThat(readiness.getReadyTopicCount()).isEqualTo(1);
+        assertThat(adminClient.listTopics().names().get()).contains("async_topic");
+    }
+
+    @Test
+    public void gatedProducerFactoryKeepsItsTypeAndSendsOnceTopicIsReady() throws Exception {
+        this.context = TestContextLoader.load(ProducerConfiguration.class,
+            "kafka.provision.brokers: ${spring.embedded.kafka.brokers}",
+            "kafka.provision.async.enabled: true",
+            "kafka.provision.topics[0].name: gated_topic",
+            "kafka.provision.topics[0].numPartitions: 1",
+            "kafka.provision.topics[0].replicationFactor: 1");
+
+        DefaultKafkaProducerFactory<String, String> producerFactory =
+            this.context.getBean(DefaultKafkaProducerFactory.class);
+        KafkaTemplate<String, String> template = new KafkaTemplate<>(producerFactory);
+
+        template.send("gated_topic", "value").get(30, TimeUnit.SECONDS);
+
+        assertThat(this.context.getBean(ProvisionReadiness.class).isTopicReady("gated_topic")).isTrue();
+        assertThat(producerFactory.createProducer()).isSameAs(producerFactory.createProducer());
+        producerFactory.destroy();
+    }
+
     @Configuration
     @ImportAutoConfiguration(TopicProvisionAutoConfiguration.class)
     static class EmptyConfiguration {
 
     }
-}
\ No newline at end of file
+
+    @Configuration
+    @ImportAutoConfiguration(TopicProvisionAutoConfiguration.class)
+    static class MetricsConfiguration {
+
+        @Bean
+        public MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Configuration
+    @ImportAutoConfiguration(TopicProvisionAutoConfiguration.class)
+    static class TemplateConfiguration {
+
+        @Bean
+        public TopicParameterSupplier tenants() {
+            return () -> Stream.of("acme", "globex");
+        }
+    }
+
+    @Configuration
+    @ImportAutoConfiguration(TopicProvisionAutoConfiguration.class)
+    static class ProducerConfiguration {
+
+        @Bean
+        public DefaultKafkaProducerFactory<String, String> producerFactory(Environment environment) {
+            Map<String, Object> configs = new HashMap<>();
+            configs.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG,
+                environment.getProperty("spring.embedded.kafka.brokers"));
+            configs.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+            configs.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+            return new DefaultKafkaProducerFactory<>(configs);
+        }
+    }
+
+    @Configuration
+    @EnableConfigurationProperties(KafkaProperties.class)
+    @ImportAutoConfiguration(TopicProvisionAutoConfiguration.class)
+    static class SpringKafkaConfiguration {
+
+    }
+}
@@ -0,0 +1,78 @@
+package io.github.zghurskyi.kafka.client;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AdminBatchingTest {
+
+    @Test
+    public void itemsAreSplitIntoBatchesOfConfiguredSize() {
+        AdminBatching batching = new AdminBatching(2, 1);
+
+        List<List<Integer>> batches = batching.split(Arrays.asList(1, 2, 3, 4, 5));
+
+        assertThat(batches).containsExactly(Arrays.asList(1, 2), Arrays.asList(3, 4), Collections.singletonList(5));
+        assertThat(batching.getBatchCount(5)).isEqualTo(3);
+        assertThat(batching.getBatchCount(0)).isEqualTo(0);
+    }
+
+    @Test
+    public void roundsAccountForInFlightBatches() {
+        AdminBatching batching = new AdminBatching(100, 4);
+
+        assertThat(batching.getRounds(0)).isEqualTo(1);
+        assertThat(batching.getRounds(400)).isEqualTo(1);
+        assertThat(batching.getRounds(401)).isEqualTo(2);
+        assertThat(AdminBatching.UNBATCHED.getRounds(100000)).isEqualTo(1);
+    }
+
+    @Test
+    public void batchResultsAreMergedInOrderWithBoundedConcurrency() {
+        AdminBatching batching = new AdminBatching(3, 2);
+        List<Integer> items = IntStream.range(0, 20).boxed().collect(Collectors.toList());
+        List<CompletableFuture<Integer>> pending = new ArrayList<>();
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+
+        CompletableFuture<List<Integer>> result = batching.execute(items, batch -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            CompletableFuture<Integer> future = new CompletableFuture<>();
+            pending.add(future);
+            return future.thenApply(ignored -> {
+                inFlight.decrementAndGet();
+                return batch.stream().mapToInt(Integer::intValue).sum();
+            });
+        });
+        for (int index = 0; index < pending.size(); index++) {
+            pending.get(index).complete(0);
+        }
+
+        assertThat(result.join()).containsExactly(3, 12, 21, 30, 39, 48, 37);
+        assertThat(maxInFlight.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void failedBatchFailsWholeOperation() {
+        AdminBatching batching = new AdminBatching(1, 2);
+        CompletableFuture<List<Integer>> result = batching.execute(Arrays.asList(1, 2, 3), batch -> {
+            if (batch.get(0) == 1) {
+                CompletableFuture<Integer> failed = new CompletableFuture<>();
+                failed.completeExceptionally(new IllegalStateException("broker is unavailable"));
+                return failed;
+            }
+            return CompletableFuture.completedFuture(batch.get(0));
+        });
+
+        assertThat(result).isCompletedExceptionally();
+    }
+}
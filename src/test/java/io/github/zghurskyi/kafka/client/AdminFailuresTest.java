@@ -0,0 +1,59 @@
+package io.github.zghurskyi.kafka.client;
+
+import io.github.zghurskyi.kafka.TopicProvisionException;
+import org.apache.kafka.common.errors.InvalidConfigurationException;
+import org.apache.kafka.common.errors.InvalidReplicationFactorException;
+import org.apache.kafka.common.errors.NotControllerException;
+import org.apache.kafka.common.errors.PolicyViolationException;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.apache.kafka.common.errors.TopicAuthorizationException;
+import org.apache.kafka.common.errors.TopicExistsException;
+import org.junit.Test;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.policy.SimpleRetryPolicy;
+
+import java.util.Collections;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AdminFailuresTest {
+
+    @Test
+    public void retriableKafkaExceptionsAreRetried() {
+        assertThat(AdminFailures.isRetriable(new TimeoutException("timed out"))).isTrue();
+        assertThat(AdminFailures.isRetriable(new NotControllerException("moved"))).isTrue();
+    }
+
+    @Test
+    public void permanentFailuresAreNotRetriedEvenIfWrapped() {
+        assertThat(AdminFailures.isRetriable(new InvalidReplicationFactorException("too large"))).isFalse();
+        assertThat(AdminFailures.isRetriable(new PolicyViolationException("denied"))).isFalse();
+        assertThat(AdminFailures.isRetriable(new TopicProvisionException("Failed to provision topics!",
+            new ExecutionException(new InvalidConfigurationException("unknown"))))).isFalse();
+        assertThat(AdminFailures.isRetriable(new TopicAuthorizationException(Collections.singleton("topic"))))
+            .isFalse();
+    }
+
+    @Test
+    public void retryPolicyStopsOnPermanentFailure() {
+        SimpleRetryPolicy policy = new SimpleRetryPolicy(3, AdminFailures.getRetryableExceptions(), true, true);
+        RetryContext retriable = policy.open(null);
+        policy.registerThrowable(retriable, new TopicProvisionException("Failed to provision topics: [topic]",
+            new TimeoutException("timed out")));
+        RetryContext permanent = policy.open(null);
+        policy.registerThrowable(permanent, new TopicProvisionException("Failed to provision topics: [topic]",
+            new ExecutionException(new PolicyViolationException("denied"))));
+
+        assertThat(policy.canRetry(retriable)).isTrue();
+        assertThat(policy.canRetry(permanent)).isFalse();
+    }
+
+    @Test
+    public void concurrentlyCreatedTopicIsAlreadyApplied() {
+        assertThat(AdminFailures.isAlreadyApplied(new CompletionException(new TopicExistsException("exists"))))
+            .isTrue();
+        assertThat(AdminFailures.isAlreadyApplied(new TimeoutException("timed out"))).isFalse();
+    }
+}
@@ -0,0 +1,96 @@
+package io.github.zghurskyi.kafka.client;
+
+import org.apache.kafka.common.errors.ApiException;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.apache.kafka.common.errors.TopicExistsException;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class AdminRateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    public void permitsAboveBurstAreDelayedByConfiguredRate() {
+        AdminRateLimiter rateLimiter = new AdminRateLimiter(10, 0, 10);
+
+        assertThat(rateLimiter.reserve(10, 0)).isEqualTo(0);
+        assertThat(rateLimiter.reserve(5, 0)).isEqualTo(SECOND / 2);
+        assertThat(rateLimiter.reserve(10, SECOND)).isEqualTo(SECOND / 2);
+        assertThat(rateLimiter.getMinimumDurationMillis(100, 1)).isEqualTo(10000);
+    }
+
+    @Test
+    public void requestsAreLimitedIndependentlyOfTopics() {
+        AdminRateLimiter rateLimiter = new AdminRateLimiter(0, 2, 10);
+
+        assertThat(rateLimiter.reserve(1000, 0)).isEqualTo(0);
+        assertThat(rateLimiter.reserve(1000, 0)).isEqualTo(0);
+        assertThat(rateLimiter.reserve(1000, 0)).isEqualTo(SECOND / 2);
+        assertThat(AdminRateLimiter.UNLIMITED.isLimited()).isFalse();
+        assertThat(AdminRateLimiter.UNLIMITED.getMinimumDurationMillis(1000, 10)).isEqualTo(0);
+    }
+
+    @Test
+    public void rateBacksOffOnThrottlingAndRecoversAdditively() {
+        AdminRateLimiter rateLimiter = new AdminRateLimiter(10, 0, 20);
+
+        rateLimiter.adjust(true);
+        assertThat(rateLimiter.getRateFactor()).isEqualTo(0.5);
+        rateLimiter.adjust(true);
+        rateLimiter.adjust(true);
+        assertThat(rateLimiter.getRateFactor()).isEqualTo(0.2);
+        assertThat(rateLimiter.reserve(2, 0)).isEqualTo(0);
+        assertThat(rateLimiter.reserve(2, 0)).isEqualTo(SECOND);
+
+        rateLimiter.adjust(false);
+        assertThat(rateLimiter.getRateFactor()).isCloseTo(0.3, within(1e-9));
+        for (int i = 0; i < 10; i++) {
+            rateLimiter.adjust(false);
+        }
+        assertThat(rateLimiter.getRateFactor()).isEqualTo(1.0);
+    }
+
+    @Test
+    public void throttledTopicsSlowDownFollowingRequests() throws Exception {
+        AdminRateLimiter rateLimiter = new AdminRateLimiter(1000, 0, 10);
+        Map<String, Throwable> throttled = Collections.singletonMap("topic",
+            new ThrottlingQuotaExceededException("controller mutation quota exceeded"));
+
+        Map<String, Throwable> failures = rateLimiter.throttle(1,
+            () -> CompletableFuture.completedFuture(throttled)).get(1, TimeUnit.SECONDS);
+        rateLimiter.throttle(1, () -> CompletableFuture.completedFuture(
+            Collections.singletonMap("other", new TopicExistsException("exists")))).get(1, TimeUnit.SECONDS);
+
+        assertThat(failures).isSameAs(throttled);
+        assertThat(rateLimiter.getRateFactor()).isCloseTo(0.6, within(1e-9));
+        rateLimiter.restore();
+        assertThat(rateLimiter.getRateFactor()).isEqualTo(1.0);
+        rateLimiter.close();
+    }
+
+    @Test
+    public void timeoutsDoNotSlowDownFollowingRequests() throws Exception {
+        AdminRateLimiter rateLimiter = new AdminRateLimiter(1000, 0, 10);
+
+        rateLimiter.throttle(1, () -> CompletableFuture.completedFuture(
+            Collections.singletonMap("topic", new TimeoutException("controller busy")))).get(1, TimeUnit.SECONDS);
+
+        assertThat(rateLimiter.getRateFactor()).isEqualTo(1.0);
+        rateLimiter.close();
+    }
+
+    private static final class ThrottlingQuotaExceededException extends ApiException {
+
+        ThrottlingQuotaExceededException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package io.github.zghurskyi.kafka.client;
+
+import org.junit.Test;
+import org.springframework.retry.backoff.ExponentialBackOffPolicy;
+import org.springframework.retry.policy.SimpleRetryPolicy;
+import org.springframework.retry.support.RetryTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class DeadlineSleeperTest {
+
+    @Test
+    public void backOffIsCappedAtRemainingBudget() {
+        List<Long> sleeps = new ArrayList<>();
+        ExponentialBackOffPolicy backOffPolicy = new ExponentialBackOffPolicy();
+        backOffPolicy.setInitialInterval(30000);
+        backOffPolicy.setMaxInterval(30000);
+        backOffPolicy.setSleeper(new DeadlineSleeper(sleeps::add));
+        RetryTemplate retryTemplate = new RetryTemplate();
+        retryTemplate.setRetryPolicy(new SimpleRetryPolicy(2));
+        retryTemplate.setBackOffPolicy(backOffPolicy);
+        ProvisionDeadline deadline = ProvisionDeadline.start(1000, 60000);
+
+        assertThatThrownBy(() -> retryTemplate.<Void, RuntimeException>execute(context -> {
+            DeadlineSleeper.bind(context, deadline);
+            throw new IllegalStateException("broker is not available");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(sleeps).hasSize(1);
+        assertThat(sleeps.get(0)).isBetween(1L, 1000L);
+    }
+
+    @Test
+    public void backOffIsNotCappedWithoutDeadline() throws Exception {
+        List<Long> sleeps = new ArrayList<>();
+
+        new DeadlineSleeper(sleeps::add).sleep(30000);
+
+        assertThat(sleeps).containsExactly(30000L);
+    }
+}
@@ -0,0 +1,46 @@
+package io.github.zghurskyi.kafka.client;
+
+import io.github.zghurskyi.kafka.ProvisionDeadlineExceededException;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ProvisionDeadlineTest {
+
+    @Test
+    public void unboundedDeadlineUsesOperationTimeout() {
+        ProvisionDeadline deadline = ProvisionDeadline.start(0, 5000);
+
+        assertThat(deadline.isBounded()).isFalse();
+        assertThat(deadline.isExpired()).isFalse();
+        assertThat(deadline.getOperationTimeoutMs()).isEqualTo(5000);
+        assertThat(deadline.getAwaitTimeoutMillis(3)).isEqualTo(15000);
+        assertThat(ProvisionDeadline.NONE.getOperationTimeoutMs()).isEqualTo(60000);
+    }
+
+    @Test
+    public void timeoutsAreDerivedFromRemainingBudget() {
+        ProvisionDeadline deadline = ProvisionDeadline.start(10000, 60000);
+
+        assertThat(deadline.getOperationTimeoutMs()).isBetween(1, 10000);
+        assertThat(deadline.getAwaitTimeoutMillis(3)).isBetween(1L, 10000L);
+        assertThat(deadline.limit(30000)).isBetween(0L, 10000L);
+        assertThat(deadline.limit(100)).isEqualTo(100);
+    }
+
+    @Test
+    public void awaitFailsOnceBudgetIsExhausted() throws Exception {
+        ProvisionDeadline deadline = ProvisionDeadline.start(50, 60000);
+
+        assertThatThrownBy(() -> AdminClientOperations.await(new CompletableFuture<>(), deadline, 1))
+            .isInstanceOf(ProvisionDeadlineExceededException.class)
+            .hasMessageContaining("deadline of 50 ms is exceeded");
+        assertThat(deadline.isExpired()).isTrue();
+        assertThat(deadline.getOperationTimeoutMs()).isEqualTo(1);
+        assertThatThrownBy(() -> AdminClientOperations.await(CompletableFuture.completedFuture(1), deadline, 1))
+            .isInstanceOf(ProvisionDeadlineExceededException.class);
+    }
+}
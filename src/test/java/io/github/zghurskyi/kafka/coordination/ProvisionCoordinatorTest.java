@@ -0,0 +1,34 @@
+package io.github.zghurskyi.kafka.coordination;
+
+import io.github.zghurskyi.kafka.ProvisionProperties;
+import io.github.zghurskyi.kafka.client.AdminClientFactory;
+import org.apache.kafka.clients.CommonClientConfigs;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.config.SslConfigs;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ProvisionCoordinatorTest {
+
+    @Test
+    public void adminPropertiesReachCoordinatorClient() {
+        Map<String, Object> adminProperties = new HashMap<>();
+        adminProperties.put(CommonClientConfigs.SECURITY_PROTOCOL_CONFIG, "SSL");
+        adminProperties.put(SslConfigs.SSL_TRUSTSTORE_LOCATION_CONFIG, "/etc/kafka/truststore.jks");
+        AdminClientFactory clientFactory = new AdminClientFactory("broker:9092", adminProperties, 1000);
+
+        ProvisionCoordinator coordinator = new ProvisionCoordinator(clientFactory.getClientConfigs(),
+            "provisioning-group", (short) 1, new ProvisionProperties.ProvisionCoordinationProperties());
+
+        assertThat(coordinator.consumerConfigs())
+            .containsEntry(CommonClientConfigs.BOOTSTRAP_SERVERS_CONFIG, "broker:9092")
+            .containsEntry(CommonClientConfigs.SECURITY_PROTOCOL_CONFIG, "SSL")
+            .containsEntry(SslConfigs.SSL_TRUSTSTORE_LOCATION_CONFIG, "/etc/kafka/truststore.jks")
+            .containsEntry(CommonClientConfigs.CLIENT_ID_CONFIG, "provisioning-coordinator")
+            .containsEntry(ConsumerConfig.GROUP_ID_CONFIG, "provisioning-group");
+    }
+}
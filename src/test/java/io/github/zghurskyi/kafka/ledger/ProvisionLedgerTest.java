@@ -0,0 +1,39 @@
+package io.github.zghurskyi.kafka.ledger;
+
+import io.github.zghurskyi.kafka.ProvisionProperties;
+import io.github.zghurskyi.kafka.client.AdminClientFactory;
+import org.apache.kafka.clients.CommonClientConfigs;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.config.SaslConfigs;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ProvisionLedgerTest {
+
+    @Test
+    public void adminPropertiesReachLedgerClients() {
+        Map<String, Object> adminProperties = new HashMap<>();
+        adminProperties.put(CommonClientConfigs.SECURITY_PROTOCOL_CONFIG, "SASL_SSL");
+        adminProperties.put(SaslConfigs.SASL_MECHANISM, "SCRAM-SHA-512");
+        AdminClientFactory clientFactory = new AdminClientFactory("broker:9092", adminProperties, 1000);
+
+        ProvisionLedger ledger = new ProvisionLedger(true, clientFactory.getClientConfigs(), "ledger-key",
+            new ProvisionProperties.ProvisionLedgerProperties());
+
+        for (Properties configs : new Properties[]{ledger.consumerConfigs(), ledger.producerConfigs()}) {
+            assertThat(configs)
+                .containsEntry(CommonClientConfigs.BOOTSTRAP_SERVERS_CONFIG, "broker:9092")
+                .containsEntry(CommonClientConfigs.SECURITY_PROTOCOL_CONFIG, "SASL_SSL")
+                .containsEntry(SaslConfigs.SASL_MECHANISM, "SCRAM-SHA-512")
+                .containsEntry(CommonClientConfigs.CLIENT_ID_CONFIG, "provisioning-ledger");
+        }
+        assertThat(ledger.consumerConfigs()).containsEntry(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        assertThat(ledger.producerConfigs()).containsEntry(ProducerConfig.ACKS_CONFIG, "all");
+    }
+}
@@ -0,0 +1,108 @@
+package io.github.zghurskyi.kafka.metadata;
+
+import io.github.zghurskyi.kafka.client.AdminClientFactory;
+import org.apache.kafka.clients.admin.Config;
+import org.apache.kafka.clients.admin.ConfigEntry;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartitionInfo;
+import org.apache.kafka.common.config.ConfigResource;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TopicMetadataCacheTest {
+
+    private static final Node NODE = new Node(0, "localhost", 9092);
+
+    private final AtomicLong clock = new AtomicLong();
+    private final TopicMetadataCache cache =
+        new TopicMetadataCache(new AdminClientFactory("localhost:1"), 1000, 2, clock::get);
+
+    @Test
+    public void populatedTopicsAreServedFromImmutableSnapshots() {
+        cache.populate(descriptions("one"), configs("one"));
+
+        TopicMetadata metadata = cache.getIfPresent("one");
+
+        assertThat(metadata.getPartitionCount()).isEqualTo(3);
+        assertThat(metadata.getReplicationFactor()).isEqualTo(1);
+        assertThat(metadata.getConfig("retention.ms")).isEqualTo("1000");
+        assertThat(cache.getPartitionCount("one")).isEqualTo(3);
+        assertThat(cache.getIfPresent("missing")).isNull();
+    }
+
+    @Test
+    public void entriesExpireAfterTtl() {
+        cache.populate(descriptions("one"), configs("one"));
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(999));
+        assertThat(cache.getIfPresent("one")).isNotNull();
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+        assertThat(cache.getIfPresent("one")).isNull();
+    }
+
+    @Test
+    public void eldestEntriesAreEvictedAboveMaxSize() {
+        cache.populate(descriptions("one"), configs("one"));
+        clock.incrementAndGet();
+        cache.populate(descriptions("two", "three"), configs("two", "three"));
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.getIfPresent("one")).isNull();
+        assertThat(cache.getIfPresent("two")).isNotNull();
+    }
+
+    @Test
+    public void refreshedEntriesAreEvictedLast() {
+        cache.populate(descriptions("one", "two"), configs("one", "two"));
+        cache.populate(descriptions("one"), configs("one"));
+        cache.populate(descriptions("three"), configs("three"));
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.getIfPresent("one")).isNotNull();
+        assertThat(cache.getIfPresent("two")).isNull();
+    }
+
+    @Test
+    public void changedTopicsAreInvalidated() {
+        cache.populate(descriptions("one", "two"), configs("one", "two"));
+
+        cache.invalidate(Collections.singleton("one"));
+
+        assertThat(cache.getIfPresent("one")).isNull();
+        assertThat(cache.getIfPresent("two")).isNotNull();
+        cache.invalidateAll();
+        assertThat(cache.size()).isEqualTo(0);
+    }
+
+    private static Map<String, TopicDescription> descriptions(String... topics) {
+        Map<String, TopicDescription> descriptions = new HashMap<>();
+        for (String topic : topics) {
+            List<TopicPartitionInfo> partitions = new ArrayList<>();
+            for (int partition = 0; partition < 3; partition++) {
+                partitions.add(new TopicPartitionInfo(partition, NODE, Collections.singletonList(NODE),
+                    Collections.singletonList(NODE)));
+            }
+            descriptions.put(topic, new TopicDescription(topic, false, partitions));
+        }
+        return descriptions;
+    }
+
+    private static Map<ConfigResource, Config> configs(String... topics) {
+        Map<ConfigResource, Config> configs = new LinkedHashMap<>();
+        Arrays.stream(topics).forEach(topic -> configs.put(new ConfigResource(ConfigResource.Type.TOPIC, topic),
+            new Config(Collections.singletonList(new ConfigEntry("retention.ms", "1000")))));
+        return configs;
+    }
+}
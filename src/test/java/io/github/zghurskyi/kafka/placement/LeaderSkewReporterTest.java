@@ -0,0 +1,72 @@
+package io.github.zghurskyi.kafka.placement;
+
+import io.github.zghurskyi.kafka.ProvisionProperties;
+import io.github.zghurskyi.kafka.client.ProvisionDeadline;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.TopicPartitionInfo;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LeaderSkewReporterTest {
+
+    private static final Node BROKER_0 = new Node(0, "broker-0", 9092);
+    private static final Node BROKER_1 = new Node(1, "broker-1", 9092);
+
+    @Test
+    public void leaderSkewIsRatioOfMaxToMeanLeaderCount() {
+        TopicDescription skewed = new TopicDescription("skewed", false, Arrays.asList(
+            partition(0, BROKER_0, BROKER_0, BROKER_1),
+            partition(1, BROKER_0, BROKER_1, BROKER_0),
+            partition(2, BROKER_0, BROKER_0, BROKER_1),
+            partition(3, BROKER_1, BROKER_1, BROKER_0)));
+
+        assertThat(LeaderSkewReporter.getLeaderSkew(Collections.singleton(skewed))).isEqualTo(1.5);
+        assertThat(LeaderSkewReporter.getLeaderSkew(Collections.emptyList())).isEqualTo(1.0);
+    }
+
+    @Test
+    public void partitionsNotLedByInSyncPreferredReplicaAreReported() {
+        TopicPartitionInfo outOfSync = new TopicPartitionInfo(2, BROKER_0, Arrays.asList(BROKER_1, BROKER_0),
+            Collections.singletonList(BROKER_0));
+        TopicDescription topic = new TopicDescription("topic", false, Arrays.asList(
+            partition(0, BROKER_0, BROKER_0, BROKER_1),
+            partition(1, BROKER_0, BROKER_1, BROKER_0),
+            outOfSync));
+
+        List<TopicPartition> partitions = LeaderSkewReporter.getNonPreferredLeaders(Collections.singleton(topic));
+
+        assertThat(partitions).containsExactly(new TopicPartition("topic", 1));
+    }
+
+    @Test
+    public void alreadyDescribedTopicsAreNotDescribedAgain() {
+        TopicDescription topic = new TopicDescription("topic", false, Arrays.asList(
+            partition(0, BROKER_0, BROKER_0, BROKER_1),
+            partition(1, BROKER_0, BROKER_1, BROKER_0)));
+        ProvisionProperties.ProvisionLeaderSkewProperties properties =
+            new ProvisionProperties.ProvisionLeaderSkewProperties();
+        properties.setMaxSkew(1.0);
+
+        List<TopicPartition> partitions = new LeaderSkewReporter(properties).report(null,
+            Collections.singleton("topic"), Collections.singletonMap("topic", topic), null, ProvisionDeadline.NONE);
+
+        assertThat(partitions).containsExactly(new TopicPartition("topic", 1));
+    }
+
+    @Test
+    public void skewReportIsDisabledByDefault() {
+        assertThat(new LeaderSkewReporter(new ProvisionProperties.ProvisionLeaderSkewProperties()).isEnabled())
+            .isFalse();
+    }
+
+    private static TopicPartitionInfo partition(int partition, Node leader, Node... replicas) {
+        return new TopicPartitionInfo(partition, leader, Arrays.asList(replicas), Arrays.asList(replicas));
+    }
+}
@@ -0,0 +1,103 @@
+package io.github.zghurskyi.kafka.placement;
+
+import io.github.zghurskyi.kafka.plan.PartitionIncrease;
+import io.github.zghurskyi.kafka.plan.TopicCreation;
+import io.github.zghurskyi.kafka.plan.TopicSpec;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartitionInfo;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReplicaPlacementTest {
+
+    private static final Node BROKER_0 = new Node(0, "broker-0", 9092, "rack-a");
+    private static final Node BROKER_1 = new Node(1, "broker-1", 9092, "rack-a");
+    private static final Node BROKER_2 = new Node(2, "broker-2", 9092, "rack-b");
+
+    @Test
+    public void leadersArePlacedOnLeastLoadedBrokers() {
+        TopicDescription hotTopic = description("hot", partition(BROKER_0, BROKER_1), partition(BROKER_0, BROKER_2));
+        ReplicaPlacement placement = new ReplicaPlacement(Arrays.asList(BROKER_0, BROKER_1, BROKER_2),
+            Collections.singleton(hotTopic), true);
+
+        Map<Integer, List<Integer>> assignments = placement.newTopic(creation("new", 4, 1)).replicasAssignments();
+
+        assertThat(leaders(assignments)).containsExactly(1, 2, 1, 2);
+    }
+
+    @Test
+    public void replicasAreSpreadAcrossRacks() {
+        ReplicaPlacement placement = new ReplicaPlacement(Arrays.asList(BROKER_0, BROKER_1, BROKER_2),
+            Collections.emptyList(), true);
+
+        Map<Integer, List<Integer>> assignments = placement.newTopic(creation("new", 3, 2)).replicasAssignments();
+
+        assignments.values().forEach(replicas -> assertThat(racks(replicas)).hasSize(2));
+        assertThat(new HashSet<>(leaders(assignments))).containsExactlyInAnyOrder(0, 1, 2);
+    }
+
+    @Test
+    public void newPartitionsUseReplicationFactorOfExistingTopic() {
+        TopicDescription existing = description("existing", partition(BROKER_0, BROKER_2));
+        ReplicaPlacement placement = new ReplicaPlacement(Arrays.asList(BROKER_0, BROKER_1, BROKER_2),
+            Collections.singleton(existing), false);
+
+        List<List<Integer>> assignments = placement.newPartitions(new PartitionIncrease("existing", 1, 3))
+            .assignments();
+
+        assertThat(assignments).hasSize(2).allSatisfy(replicas -> assertThat(replicas).hasSize(2));
+        assertThat(assignments.get(0).get(0)).isEqualTo(1);
+    }
+
+    @Test
+    public void brokerDefaultIsUsedIfPlacementIsNotPossible() {
+        ReplicaPlacement placement = new ReplicaPlacement(Collections.singleton(BROKER_0), Collections.emptyList(),
+            true);
+
+        NewTopic newTopic = placement.newTopic(creation("new", 2, 3));
+
+        assertThat(newTopic.replicasAssignments()).isNull();
+        assertThat(newTopic.numPartitions()).isEqualTo(2);
+        assertThat(placement.newPartitions(new PartitionIncrease("unknown", 1, 2)).assignments()).isNull();
+        assertThat(ReplicaPlacement.BROKER_DEFAULT.newTopic(creation("new", 1, 1)).replicasAssignments()).isNull();
+    }
+
+    private static List<Integer> leaders(Map<Integer, List<Integer>> assignments) {
+        return assignments.values().stream()
+            .map(replicas -> replicas.get(0))
+            .collect(Collectors.toList());
+    }
+
+    private static List<String> racks(List<Integer> replicas) {
+        Map<Integer, String> racks = new HashMap<>();
+        Arrays.asList(BROKER_0, BROKER_1, BROKER_2).forEach(broker -> racks.put(broker.id(), broker.rack()));
+        return replicas.stream().map(racks::get).distinct().collect(Collectors.toList());
+    }
+
+    private static TopicCreation creation(String name, int numPartitions, int replicationFactor) {
+        return new TopicCreation(new TopicSpec(name, numPartitions, (short) replicationFactor, Collections.emptyMap()));
+    }
+
+    private static TopicPartitionInfo partition(Node leader, Node... followers) {
+        List<Node> replicas = new ArrayList<>();
+        replicas.add(leader);
+        replicas.addAll(Arrays.asList(followers));
+        return new TopicPartitionInfo(0, leader, replicas, replicas);
+    }
+
+    private static TopicDescription description(String name, TopicPartitionInfo... partitions) {
+        return new TopicDescription(name, false, Arrays.asList(partitions));
+    }
+}
@@ -0,0 +1,158 @@
+package io.github.zghurskyi.kafka.plan;
+
+import io.github.zghurskyi.kafka.ProvisionProperties;
+import org.apache.kafka.clients.admin.Config;
+import org.apache.kafka.clients.admin.ConfigEntry;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartitionInfo;
+import org.apache.kafka.common.config.ConfigResource;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PlanDiffTest {
+
+    private static final Node NODE = new Node(0, "localhost", 9092);
+
+    @Test
+    public void missingTopicsAreCreated() {
+        ProvisionPlan plan = ProvisionPlan.compile(newProperties(topic("one", 2), topic("two", 4)));
+
+        List<TopicCreation> topicCreations = PlanDiff.getTopicCreations(plan, new HashSet<>(Arrays.asList("one", "other")));
+
+        assertThat(topicCreations).extracting(TopicCreation::getTopicName).containsExactly("two");
+    }
+
+    @Test
+    public void topicsAreNotCreatedIfAutoCreateIsDisabled() {
+        ProvisionProperties properties = newProperties(topic("one", 2));
+        properties.setAutoCreateTopics(false);
+
+        assertThat(PlanDiff.getTopicCreations(ProvisionPlan.compile(properties), Collections.emptySet())).isEmpty();
+    }
+
+    @Test
+    public void partitionsAreIncreasedOnlyForManagedTopicsWithFewerPartitions() {
+        ProvisionPlan plan = ProvisionPlan.compile(newProperties(topic("one", 4), topic("two", 2)));
+        Map<String, TopicDescription> descriptions = new HashMap<>();
+        descriptions.put("one", description("one", 2));
+        descriptions.put("two", description("two", 3));
+        descriptions.put("other", description("other", 1));
+
+        List<PartitionIncrease> partitionIncreases = PlanDiff.getPartitionIncreases(plan, descriptions);
+
+        assertThat(partitionIncreases).hasSize(1);
+        assertThat(partitionIncreases.get(0).getTopicName()).isEqualTo("one");
+        assertThat(partitionIncreases.get(0).getCurrentPartitions()).isEqualTo(2);
+        assertThat(partitionIncreases.get(0).getTargetPartitions()).isEqualTo(4);
+    }
+
+    @Test
+    public void onlyDriftedConfigsAreChanged() {
+        ProvisionProperties.TopicProperties topic = topic("one", 1);
+        topic.getConfigs().put("cleanup.policy", "compact");
+        topic.getConfigs().put("retention.ms", "1000");
+        ProvisionPlan plan = ProvisionPlan.compile(newProperties(topic));
+        Config currentConfig = new Config(Arrays.asList(
+            new ConfigEntry("cleanup.policy", "compact", false, false, false),
+            new ConfigEntry("retention.ms", "2000", false, false, false),
+            new ConfigEntry("segment.ms", "3000", false, false, false),
+            new ConfigEntry("max.message.bytes", "1000012", true, false, false)));
+
+        List<ConfigChange> configChanges = PlanDiff.getConfigChanges(plan,
+            Collections.singletonMap(new ConfigResource(ConfigResource.Type.TOPIC, "one"), currentConfig));
+
+        assertThat(configChanges).hasSize(1);
+        ConfigChange configChange = configChanges.get(0);
+        assertThat(configChange.getUpdatedValues()).containsOnly(entry("retention.ms", "1000"));
+        assertThat(configChange.getCurrentValues()).containsOnly(entry("retention.ms", "2000"));
+        assertThat(configChange.getRetainedOverrides())
+            .containsOnly(entry("cleanup.policy", "compact"), entry("segment.ms", "3000"));
+    }
+
+    @Test
+    public void configChangeIsRefusedIfSensitiveOverrideWouldBeLost() {
+        ProvisionProperties.TopicProperties topic = topic("one", 1);
+        topic.getConfigs().put("retention.ms", "1000");
+        ProvisionPlan plan = ProvisionPlan.compile(newProperties(topic));
+        Config currentConfig = new Config(Arrays.asList(
+            new ConfigEntry("retention.ms", "2000", false, false, false),
+            new ConfigEntry("custom.secret", null, false, true, false)));
+
+        List<ConfigChange> configChanges = PlanDiff.getConfigChanges(plan,
+            Collections.singletonMap(new ConfigResource(ConfigResource.Type.TOPIC, "one"), currentConfig));
+
+        assertThat(configChanges).isEmpty();
+
+        topic.getConfigs().put("custom.secret", "value");
+        configChanges = PlanDiff.getConfigChanges(ProvisionPlan.compile(newProperties(topic)),
+            Collections.singletonMap(new ConfigResource(ConfigResource.Type.TOPIC, "one"), currentConfig));
+
+        assertThat(configChanges).hasSize(1);
+        assertThat(configChanges.get(0).getUpdatedValues()).containsOnlyKeys("retention.ms", "custom.secret");
+    }
+
+    @Test
+    public void configEqualToDefaultIsPinnedAsOverride() {
+        ProvisionProperties.TopicProperties topic = topic("one", 1);
+        topic.getConfigs().put("cleanup.policy", "delete");
+        ProvisionPlan plan = ProvisionPlan.compile(newProperties(topic));
+        Config currentConfig = new Config(Collections.singletonList(
+            new ConfigEntry("cleanup.policy", "delete", true, false, false)));
+
+        List<ConfigChange> configChanges = PlanDiff.getConfigChanges(plan,
+            Collections.singletonMap(new ConfigResource(ConfigResource.Type.TOPIC, "one"), currentConfig));
+
+        assertThat(configChanges).hasSize(1);
+    }
+
+    @Test
+    public void noConfigChangesIfNothingDrifted() {
+        ProvisionProperties.TopicProperties topic = topic("one", 1);
+        topic.getConfigs().put("cleanup.policy", "compact");
+        ProvisionPlan plan = ProvisionPlan.compile(newProperties(topic));
+        Config currentConfig = new Config(Collections.singletonList(
+            new ConfigEntry("cleanup.policy", "compact", false, false, false)));
+
+        List<ConfigChange> configChanges = PlanDiff.getConfigChanges(plan,
+            Collections.singletonMap(new ConfigResource(ConfigResource.Type.TOPIC, "one"), currentConfig));
+
+        assertThat(configChanges).isEmpty();
+    }
+
+    private static Map.Entry<String, String> entry(String key, String value) {
+        return new HashMap.SimpleEntry<>(key, value);
+    }
+
+    private static ProvisionProperties newProperties(ProvisionProperties.TopicProperties... topics) {
+        ProvisionProperties properties = new ProvisionProperties();
+        properties.setTopics(new ArrayList<>(Arrays.asList(topics)));
+        return properties;
+    }
+
+    private static ProvisionProperties.TopicProperties topic(String name, int numPartitions) {
+        ProvisionProperties.TopicProperties topic = new ProvisionProperties.TopicProperties();
+        topic.setName(name);
+        topic.setNumPartitions(numPartitions);
+        topic.setReplicationFactor((short) 1);
+        return topic;
+    }
+
+    private static TopicDescription description(String name, int numPartitions) {
+        List<TopicPartitionInfo> partitions = new ArrayList<>();
+        for (int partition = 0; partition < numPartitions; partition++) {
+            partitions.add(new TopicPartitionInfo(partition, NODE, Collections.singletonList(NODE),
+                Collections.singletonList(NODE)));
+        }
+        return new TopicDescription(name, false, partitions);
+    }
+}
@@ -0,0 +1,120 @@
+package io.github.zghurskyi.kafka.plan;
+
+import io.github.zghurskyi.kafka.ProvisionProperties;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TopicTemplateExpanderTest {
+
+    private static final TopicTemplateExpander EXPANDER = new TopicTemplateExpander(supplier ->
+        () -> Stream.of("eu", "us"));
+
+    @Test
+    public void templateIsExpandedForEveryParameterCombination() {
+        ProvisionProperties.TopicTemplateProperties template = template("orders.{tenant}.{shard}");
+        template.getParameters().put("tenant", values("acme", "globex"));
+        template.getParameters().put("shard", range(0, 2, "%02d"));
+
+        List<String> names = EXPANDER.expand(template)
+            .map(TopicSpec::getName)
+            .collect(Collectors.toList());
+
+        assertThat(names).containsExactly("orders.acme.00", "orders.acme.01", "orders.acme.02",
+            "orders.globex.00", "orders.globex.01", "orders.globex.02");
+    }
+
+    @Test
+    public void expandedTopicsShareTemplateSettings() {
+        ProvisionProperties.TopicTemplateProperties template = template("{region}-events-{region}");
+        template.getConfigs().put("retention.ms", "5000");
+        template.getParameters().put("region", supplier("regions"));
+
+        List<TopicSpec> topics = EXPANDER.expand(template).collect(Collectors.toList());
+
+        assertThat(topics).extracting(TopicSpec::getName).containsExactly("eu-events-eu", "us-events-us");
+        assertThat(topics).allSatisfy(topic -> {
+            assertThat(topic.getNumPartitions()).isEqualTo(3);
+            assertThat(topic.getConfigs()).containsEntry("retention.ms", "5000");
+        });
+        assertThat(topics.get(0).getConfigs()).isSameAs(topics.get(1).getConfigs());
+    }
+
+    @Test
+    public void templatesAreCompiledIntoPlanAfterTopics() {
+        ProvisionProperties.TopicTemplateProperties template = template("orders.{tenant}");
+        template.getParameters().put("tenant", range(1, 3, null));
+        ProvisionProperties.TopicProperties topic = new ProvisionProperties.TopicProperties();
+        topic.setName("orders.2");
+        topic.setNumPartitions(8);
+        topic.setReplicationFactor((short) 1);
+        ProvisionProperties properties = new ProvisionProperties();
+        properties.getTopics().add(topic);
+        properties.getTemplates().add(template);
+
+        ProvisionPlan plan = ProvisionPlan.compile(properties, EXPANDER);
+
+        assertThat(plan.getTopicNames()).containsExactly("orders.2", "orders.1", "orders.3");
+        assertThat(plan.getTopic("orders.2").getNumPartitions()).isEqualTo(8);
+    }
+
+    @Test
+    public void invalidTemplatesAreRejected() {
+        ProvisionProperties.TopicTemplateProperties undefined = template("orders.{tenant}");
+        ProvisionProperties.TopicTemplateProperties ambiguous = template("orders.{tenant}");
+        ProvisionProperties.TopicTemplateParameterProperties source = values("acme");
+        source.setSupplier("tenants");
+        ambiguous.getParameters().put("tenant", source);
+        ProvisionProperties.TopicTemplateProperties invalidName = template("orders.{tenant}");
+        invalidName.getParameters().put("tenant", values("acme/eu"));
+
+        assertThatThrownBy(() -> EXPANDER.expand(undefined)).hasMessageContaining("is not defined");
+        assertThatThrownBy(() -> EXPANDER.expand(ambiguous)).hasMessageContaining("exactly one of");
+        assertThatThrownBy(() -> EXPANDER.expand(invalidName).count()).hasMessageContaining("invalid topic name");
+        assertThatThrownBy(() -> TopicTemplateExpander.WITHOUT_SUPPLIERS.expand(supplied()))
+            .hasMessageContaining("is not available");
+    }
+
+    private static ProvisionProperties.TopicTemplateProperties supplied() {
+        ProvisionProperties.TopicTemplateProperties template = template("orders.{tenant}");
+        template.getParameters().put("tenant", supplier("tenants"));
+        return template;
+    }
+
+    private static ProvisionProperties.TopicTemplateProperties template(String name) {
+        ProvisionProperties.TopicTemplateProperties template = new ProvisionProperties.TopicTemplateProperties();
+        template.setName(name);
+        template.setNumPartitions(3);
+        template.setReplicationFactor((short) 1);
+        return template;
+    }
+
+    private static ProvisionProperties.TopicTemplateParameterProperties range(int from, int to, String format) {
+        ProvisionProperties.TopicTemplateParameterProperties source =
+            new ProvisionProperties.TopicTemplateParameterProperties();
+        source.setFrom(from);
+        source.setTo(to);
+        source.setFormat(format);
+        return source;
+    }
+
+    private static ProvisionProperties.TopicTemplateParameterProperties values(String... values) {
+        ProvisionProperties.TopicTemplateParameterProperties source =
+            new ProvisionProperties.TopicTemplateParameterProperties();
+        source.setValues(Arrays.asList(values));
+        return source;
+    }
+
+    private static ProvisionProperties.TopicTemplateParameterProperties supplier(String name) {
+        ProvisionProperties.TopicTemplateParameterProperties source =
+            new ProvisionProperties.TopicTemplateParameterProperties();
+        source.setSupplier(name);
+        return source;
+    }
+}
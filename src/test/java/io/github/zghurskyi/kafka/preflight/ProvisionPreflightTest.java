@@ -0,0 +1,89 @@
+package io.github.zghurskyi.kafka.preflight;
+
+import io.github.zghurskyi.kafka.ProvisionProperties;
+import io.github.zghurskyi.kafka.plan.ProvisionPlan;
+import org.apache.kafka.common.Node;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ProvisionPreflightTest {
+
+    private static final Node BROKER_0 = new Node(0, "broker-0", 9092, "rack-a");
+    private static final Node BROKER_1 = new Node(1, "broker-1", 9092);
+
+    @Test
+    public void allViolationsAreReportedAtOnce() {
+        ProvisionProperties.TopicProperties replicated = topic("replicated", 3);
+        replicated.getConfigs().put("min.insync.replicas", "4");
+        ProvisionProperties.TopicProperties misconfigured = topic("misconfigured", 1);
+        misconfigured.getConfigs().put("retention.msec", "1000");
+        ProvisionPlan plan = ProvisionPlan.compile(newProperties(replicated, misconfigured));
+
+        ProvisionProperties.ProvisionPreflightProperties properties =
+            new ProvisionProperties.ProvisionPreflightProperties();
+        properties.setCheckConfigNames(true);
+
+        List<String> violations = new ProvisionPreflight(properties, false).check(plan, Collections.emptySet(),
+            Arrays.asList(BROKER_0, BROKER_1));
+
+        assertThat(violations).containsExactly(
+            "Topic 'replicated': replication factor 3 exceeds 2 available brokers",
+            "Brokers [1] have no rack while other brokers have one, "
+                + "rack-aware replica assignment of new topics is rejected by the cluster",
+            "Topic 'replicated': min.insync.replicas 4 exceeds replication factor 3",
+            "Topic 'misconfigured': unknown configs [retention.msec]");
+    }
+
+    @Test
+    public void existingTopicsAreNotCheckedAgainstAvailableBrokers() {
+        ProvisionProperties.TopicProperties existing = topic("existing", 3);
+        existing.getConfigs().put("retention.ms", "1000");
+        ProvisionPlan plan = ProvisionPlan.compile(newProperties(existing));
+
+        List<String> violations = newPreflight(false).check(plan, Collections.singleton("existing"),
+            Arrays.asList(BROKER_0, BROKER_1));
+
+        assertThat(violations).isEmpty();
+    }
+
+    @Test
+    public void configNamesUnknownToClientAreAcceptedByDefault() {
+        ProvisionProperties.TopicProperties tiered = topic("tiered", 1);
+        tiered.getConfigs().put("remote.storage.enable", "true");
+        ProvisionPlan plan = ProvisionPlan.compile(newProperties(tiered));
+
+        assertThat(newPreflight(false).check(plan, Collections.singleton("tiered"), Arrays.asList(BROKER_0, BROKER_1)))
+            .isEmpty();
+    }
+
+    @Test
+    public void rackCheckIsSkippedWithExplicitPlacement() {
+        ProvisionPlan plan = ProvisionPlan.compile(newProperties(topic("placed", 2)));
+
+        assertThat(newPreflight(true).check(plan, Collections.emptySet(), Arrays.asList(BROKER_0, BROKER_1)))
+            .isEmpty();
+    }
+
+    private static ProvisionPreflight newPreflight(boolean explicitPlacement) {
+        return new ProvisionPreflight(new ProvisionProperties.ProvisionPreflightProperties(), explicitPlacement);
+    }
+
+    private static ProvisionProperties newProperties(ProvisionProperties.TopicProperties... topics) {
+        ProvisionProperties properties = new ProvisionProperties();
+        properties.setTopics(Arrays.asList(topics));
+        return properties;
+    }
+
+    private static ProvisionProperties.TopicProperties topic(String name, int replicationFactor) {
+        ProvisionProperties.TopicProperties topic = new ProvisionProperties.TopicProperties();
+        topic.setName(name);
+        topic.setNumPartitions(1);
+        topic.setReplicationFactor((short) replicationFactor);
+        return topic;
+    }
+}
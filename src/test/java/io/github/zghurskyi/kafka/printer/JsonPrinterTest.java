@@ -1,9 +1,15 @@
 package io.github.zghurskyi.kafka.printer;
 
 import io.github.zghurskyi.kafka.ProvisionProperties;
+import org.apache.kafka.clients.admin.NewTopic;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -15,22 +21,141 @@ public class JsonPrinterTest {
         + "  \"autoCreateTopics\" : true,\n"
         + "  \"autoAddPartitions\" : true,\n"
         + "  \"autoUpdateConfig\" : true,\n"
+        + "  \"dryRun\" : false,\n"
         + "  \"topics\" : [ ],\n"
+        + "  \"templates\" : [ ],\n"
+        + "  \"clusters\" : { },\n"
+        + "  \"clusterParallelism\" : 4,\n"
         + "  \"provisionRetry\" : {\n"
         + "    \"maxAttempts\" : 3,\n"
         + "    \"initialIntervalMillis\" : 100,\n"
         + "    \"multiplier\" : 2.0,\n"
         + "    \"maxIntervalMillis\" : 30000\n"
+        + "  },\n"
+        + "  \"async\" : {\n"
+        + "    \"enabled\" : false,\n"
+        + "    \"gateListenerContainers\" : true,\n"
+        + "    \"gateProducers\" : true,\n"
+        + "    \"sendTimeoutMillis\" : 60000\n"
+        + "  },\n"
+        + "  \"ledger\" : {\n"
+        + "    \"enabled\" : false,\n"
+        + "    \"forceRefresh\" : false,\n"
+        + "    \"topic\" : \"kafka-provision-ledger\",\n"
+        + "    \"key\" : null,\n"
+        + "    \"replicationFactor\" : 1,\n"
+        + "    \"timeoutMillis\" : 10000\n"
+        + "  },\n"
+        + "  \"coordination\" : {\n"
+        + "    \"enabled\" : false,\n"
+        + "    \"lockTopic\" : \"kafka-provision-lock\",\n"
+        + "    \"group\" : null,\n"
+        + "    \"waitTimeoutMillis\" : 120000,\n"
+        + "    \"leaseTimeoutMillis\" : 300000,\n"
+        + "    \"checkIntervalMillis\" : 1000\n"
+        + "  },\n"
+        + "  \"batch\" : {\n"
+        + "    \"size\" : 500,\n"
+        + "    \"maxInFlight\" : 4\n"
+        + "  },\n"
+        + "  \"logging\" : {\n"
+        + "    \"maxChars\" : 65536,\n"
+        + "    \"maxElements\" : 1000,\n"
+        + "    \"summary\" : false\n"
+        + "  },\n"
+        + "  \"reconcile\" : {\n"
+        + "    \"enabled\" : false,\n"
+        + "    \"minIntervalMillis\" : 30000,\n"
+        + "    \"maxIntervalMillis\" : 600000,\n"
+        + "    \"multiplier\" : 2.0\n"
+        + "  },\n"
+        + "  \"admin\" : {\n"
+        + "    \"inheritSpringKafka\" : false,\n"
+        + "    \"closeTimeoutMillis\" : 10000,\n"
+        + "    \"properties\" : { }\n"
+        + "  },\n"
+        + "  \"deadline\" : {\n"
+        + "    \"budgetMillis\" : 0,\n"
+        + "    \"operationTimeoutMillis\" : 60000,\n"
+        + "    \"onExpiry\" : \"FAIL\"\n"
+        + "  },\n"
+        + "  \"placement\" : {\n"
+        + "    \"enabled\" : false,\n"
+        + "    \"rackAware\" : true\n"
+        + "  },\n"
+        + "  \"leaderSkew\" : {\n"
+        + "    \"enabled\" : false,\n"
+        + "    \"maxSkew\" : 1.25\n"
+        + "  },\n"
+        + "  \"rateLimit\" : {\n"
+        + "    \"topicsPerSecond\" : 0.0,\n"
+        + "    \"requestsPerSecond\" : 0.0,\n"
+        + "    \"minRatePercent\" : 10\n"
+        + "  },\n"
+        + "  \"metadata\" : {\n"
+        + "    \"ttlMillis\" : 60000,\n"
+        + "    \"maxSize\" : 10000\n"
+        + "  },\n"
+        + "  \"preflight\" : {\n"
+        + "    \"enabled\" : true,\n"
+        + "    \"checkConfigNames\" : false\n"
         + "  }\n"
         + "}";
 
     @Test
     public void printsTopicConfigAsJson() {
         ProvisionProperties properties = newNoTopicsProperties();
-        String json = JsonPrinter.print(properties);
+        String json = JsonPrinter.DEFAULT.print(properties);
         assertThat(json).isEqualTo(NO_TOPICS_JSON);
     }
 
+    @Test
+    public void outputIsTruncatedAtMaxChars() {
+        JsonPrinter printer = new JsonPrinter(20, JsonPrinter.DEFAULT_MAX_ELEMENTS, false);
+
+        String json = printer.print(newNoTopicsProperties());
+
+        assertThat(json).isEqualTo(NO_TOPICS_JSON.substring(0, 20) + "... (truncated at 20 chars)");
+    }
+
+    @Test
+    public void collectionIsLimitedToMaxElements() {
+        JsonPrinter printer = new JsonPrinter(JsonPrinter.DEFAULT_MAX_CHARS, 2, false);
+
+        String json = printer.print(Arrays.asList("one", "two", "three", "four"));
+
+        assertThat(json).isEqualTo("[ \"one\", \"two\" ]\n... (2 more elements)");
+    }
+
+    @Test
+    public void summaryListsCountAndNames() {
+        JsonPrinter printer = new JsonPrinter(JsonPrinter.DEFAULT_MAX_CHARS, JsonPrinter.DEFAULT_MAX_ELEMENTS, true);
+        List<NewTopic> topics = IntStream.range(0, 12)
+            .mapToObj(index -> new NewTopic("topic" + index, 1, (short) 1))
+            .collect(Collectors.toList());
+
+        assertThat(printer.print(topics)).isEqualTo("12 elements [topic0, topic1, topic2, topic3, topic4, "
+            + "topic5, topic6, topic7, topic8, topic9, ...]");
+        assertThat(printer.print(Collections.singletonMap("key", "value"))).isEqualTo("1 element [key]");
+    }
+
+    @Test
+    public void lazyValueIsPrintedOnlyWhenRendered() {
+        AtomicInteger serializations = new AtomicInteger();
+        Object value = new Object() {
+            public int getCount() {
+                return serializations.incrementAndGet();
+            }
+        };
+
+        Object lazy = JsonPrinter.DEFAULT.lazy(value);
+
+        assertThat(serializations.get()).isZero();
+        assertThat(lazy.toString()).isEqualTo("{\n  \"count\" : 1\n}");
+        assertThat(serializations.get()).isEqualTo(1);
+        assertThat(JsonPrinter.DEFAULT.lazy(Collections.singletonList("one")).toString()).isEqualTo("[ \"one\" ]");
+    }
+
     private ProvisionProperties newNoTopicsProperties() {
         ProvisionProperties properties = new ProvisionProperties();
         properties.setTopics(Collections.emptyList());
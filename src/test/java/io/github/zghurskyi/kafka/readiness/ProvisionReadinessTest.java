@@ -0,0 +1,38 @@
+package io.github.zghurskyi.kafka.readiness;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ProvisionReadinessTest {
+
+    @Test
+    public void laterSuccessfulRunRecoversFailedReadiness() {
+        ProvisionReadiness readiness = new ProvisionReadiness(Arrays.asList("first_topic", "second_topic"));
+
+        readiness.markFailed(new IllegalStateException("deadline exceeded"));
+        CompletableFuture<Void> recovered = readiness.whenRecovered();
+
+        assertThat(readiness.getStatus()).isEqualTo(ProvisionReadiness.Status.FAILED);
+        assertThat(readiness.isTopicReady("first_topic")).isFalse();
+        assertThat(readiness.whenReady("first_topic")).isCompletedExceptionally();
+        assertThat(recovered).isNotDone();
+
+        readiness.markTopicReady("first_topic");
+
+        assertThat(readiness.isTopicReady("first_topic")).isTrue();
+        assertThat(readiness.isTopicReady("second_topic")).isFalse();
+        assertThat(recovered).isNotDone();
+
+        readiness.markReady();
+
+        assertThat(readiness.getStatus()).isEqualTo(ProvisionReadiness.Status.READY);
+        assertThat(readiness.isTopicReady("second_topic")).isTrue();
+        assertThat(readiness.whenReady("second_topic")).isCompleted();
+        assertThat(readiness.whenCompleted()).isCompleted();
+        assertThat(recovered).isCompleted();
+    }
+}